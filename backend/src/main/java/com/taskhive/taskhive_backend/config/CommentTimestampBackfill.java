@@ -0,0 +1,35 @@
+package com.taskhive.taskhive_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Gives comments saved before created_at was always set the epoch as their timestamp. Comment
+ * pages are ordered and keyed by (created_at, id), and a null would sort after every page and
+ * could not be encoded in a cursor. Depending on the EntityManagerFactory means this runs
+ * after the schema update.
+ */
+@Component
+public class CommentTimestampBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentTimestampBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentTimestampBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int updated = jdbcTemplate.update("update comments set created_at = 'epoch' where created_at is null");
+        if (updated > 0) {
+            logger.info("Set created_at of {} legacy comments to the epoch", updated);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskhive.taskhive_backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.taskhive.taskhive_backend.limiter.ConcurrencyLimitFilter;
+import com.taskhive.taskhive_backend.limiter.ConcurrencyLimitProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    // Ordered just before the Spring Security chain so shed requests cost as little as possible
+    @Bean
+    @ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(properties, meterRegistry));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,57 @@
+package com.taskhive.taskhive_backend.config;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves each entity's ID sequence past the rows already in its table. Tables created while
+ * IDs came from identity columns already hold IDs the new sequences would hand out again.
+ * The sequences use a pooled optimizer (allocationSize 50), and the next nextval() after
+ * setval(max) covers max+1..max+50. Depending on the EntityManagerFactory means this runs
+ * after the schema update and before the web server starts.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // Sequence -> table, as declared by the entities' @SequenceGenerator
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "workspace_seq", "workspace",
+            "boards_seq", "boards",
+            "lists_seq", "lists",
+            "card_seq", "card",
+            "comments_seq", "comments",
+            "attachments_seq", "attachments",
+            "activity_log_seq", "activity_log",
+            "workspace_feed_seq", "workspace_feed");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+            if (maxId == null) {
+                return;
+            }
+            // Never moves a sequence backwards (another instance may already be ahead)
+            Long value = jdbcTemplate.queryForObject(
+                    "select setval(?::regclass, greatest(?, (select last_value from " + sequence + ")))",
+                    Long.class, sequence, maxId);
+            logger.debug("Sequence {} aligned to {}", sequence, value);
+        });
+    }
+}
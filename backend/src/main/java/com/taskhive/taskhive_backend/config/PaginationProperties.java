@@ -0,0 +1,24 @@
+package com.taskhive.taskhive_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "pagination")
+public class PaginationProperties {
+
+    private int defaultPageSize = 50;
+
+    // Hard ceiling; larger ?limit= values are clamped rather than rejected
+    private int maxPageSize = 200;
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskhive.taskhive_backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Budgets for {@link com.taskhive.taskhive_backend.security.RateLimitFilter}. Routes are
+ * matched in order by Ant pattern; unmatched requests share the default budget.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Bucket map bounds: idle buckets are dropped, and the map never exceeds maxBuckets
+    private long maxBuckets = 100_000;
+    private long idleSeconds = 600;
+
+    private int defaultCapacity = 60;
+    private double defaultRefillPerSecond = 20;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private int capacity;
+        private double refillPerSecond;
+        // Key buckets by client IP instead of the authenticated user (e.g. login/OTP)
+        private boolean perIp;
+    }
+}
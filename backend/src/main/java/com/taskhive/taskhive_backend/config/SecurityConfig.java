@@ -1,9 +1,12 @@
 package com.taskhive.taskhive_backend.config;
 
+import com.taskhive.taskhive_backend.security.BoundedPasswordEncoder;
 import com.taskhive.taskhive_backend.security.JwtAuthenticationFilter;
+import com.taskhive.taskhive_backend.security.RateLimitFilter;
 import com.taskhive.taskhive_backend.service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -23,6 +26,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.security.config.Customizer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+
 import java.util.Arrays;
 
 @Configuration
@@ -32,12 +38,19 @@ public class SecurityConfig {
     @Lazy
     private JwtAuthenticationFilter jwtAuthFilter;
 
+    @Autowired
+    @Lazy
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authProvider) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults()) // ✅ Replaces deprecated cors().and()
             .authorizeHttpRequests(auth -> auth
+                // Async re-dispatches (SSE completion/timeout) were authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/api/auth/**", "/test").permitAll()
                 .requestMatchers("/api/test-upload").permitAll()
@@ -63,22 +76,29 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authenticationProvider(authProvider)
+            // Same slot, so they run in the order added: the limiter ahead of the JWT filter,
+            // so requests with bad tokens are throttled before they are rejected
+            .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(UserService userService) {
+    public AuthenticationProvider authenticationProvider(UserService userService, PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
+    // BCrypt runs on its own bounded pool so login/registration bursts cannot tie up request threads
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password-hashing.threads:4}") int threads,
+                                           @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password-hashing.max-wait-ms:2000}") long maxWaitMillis) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, maxWaitMillis, meterRegistry);
     }
 
     @Bean
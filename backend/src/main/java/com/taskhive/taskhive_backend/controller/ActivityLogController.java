@@ -1,16 +1,23 @@
 package com.taskhive.taskhive_backend.controller;
 
-import com.taskhive.taskhive_backend.model.ActivityLog;
+import com.taskhive.taskhive_backend.config.PaginationProperties;
+import com.taskhive.taskhive_backend.dto.ActivityLogFilter;
+import com.taskhive.taskhive_backend.dto.ActivityLogView;
+import com.taskhive.taskhive_backend.dto.PageResponse;
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.service.ActivityLogService;
 import com.taskhive.taskhive_backend.service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/activity-logs")
@@ -22,6 +29,9 @@ public class ActivityLogController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     // ✅ Create a test log (for testing purposes)
     @PostMapping("/log")
 public ResponseEntity<String> logActivity(@RequestBody LogRequest logRequest, @AuthenticationPrincipal User user) {
@@ -50,9 +60,49 @@ public ResponseEntity<String> logActivity(@RequestBody LogRequest logRequest, @A
         }
     }
 
-    // ✅ Get all logs
+    // ✅ Get logs, newest first, optionally filtered; follow nextCursor for older pages
     @GetMapping
-    public List<ActivityLog> getAllLogs() {
-        return activityLogService.getAllLogs();
+    public ResponseEntity<?> getAllLogs(@RequestParam(required = false) Long workspaceId,
+                                        @RequestParam(required = false) Long boardId,
+                                        @RequestParam(required = false) Long cardId,
+                                        @RequestParam(required = false) String targetType,
+                                        @RequestParam(required = false) Long targetId,
+                                        @RequestParam(required = false) Long userId,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit,
+                                        Authentication authentication) {
+        try {
+            User user = userService.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+            ActivityLogFilter filter = new ActivityLogFilter(workspaceId, boardId, cardId, targetType, targetId, userId, from, to);
+            Optional<PageResponse<ActivityLogView>> page = activityLogService.findLogs(
+                    user.getId(), filter, cursor, paginationProperties.resolvePageSize(limit));
+            if (page.isEmpty()) {
+                return ResponseEntity.status(403).body("Forbidden: You are not a collaborator on this workspace");
+            }
+            return ResponseEntity.ok(page.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ Recent activity across all of the user's workspaces, newest first
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(@RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit,
+                                     Authentication authentication) {
+        try {
+            User user = userService.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            return ResponseEntity.ok(activityLogService.getFeed(
+                    user.getId(), cursor, paginationProperties.resolvePageSize(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
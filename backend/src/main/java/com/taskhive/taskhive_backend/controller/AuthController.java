@@ -10,9 +10,14 @@ import com.taskhive.taskhive_backend.dto.AuthenticationResponse;
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.payload.LoginRequest;
 import com.taskhive.taskhive_backend.payload.RegisterRequest;
+import com.taskhive.taskhive_backend.security.TokenRevocationService;
 import com.taskhive.taskhive_backend.service.AuthService;
 import com.taskhive.taskhive_backend.service.JwtService;
 import com.taskhive.taskhive_backend.service.UserService;
+import com.taskhive.taskhive_backend.service.WorkspaceMembershipService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -27,6 +32,12 @@ public class AuthController {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
     @PostMapping("/register")
     public ResponseEntity<String> registerUser(@RequestBody RegisterRequest request) {
         try {
@@ -56,10 +67,35 @@ public class AuthController {
             return ResponseEntity.badRequest().body("Account not verified. Please check your email for the OTP.");
         }
 
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.isWorkspaceClaimsEnabled()
+                ? jwtService.generateToken(user.getEmail(),
+                        membershipService.getWorkspaceIds(user.getId()),
+                        user.getMembershipVersion())
+                : jwtService.generateToken(user.getEmail());
         return ResponseEntity.ok(new AuthenticationResponse(token));
     }
 
+    // /api/auth/** skips the JWT filter, so the token is read and verified here
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body("Missing bearer token");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.validateToken(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            return ResponseEntity.status(401).body("Invalid or expired token");
+        }
+
+        if (claims.getId() == null) {
+            return ResponseEntity.badRequest().body("Token cannot be revoked; it will expire on its own");
+        }
+        revocationService.revoke(claims.getId(), claims.getExpiration());
+        return ResponseEntity.ok("Logged out successfully.");
+    }
+
     @PostMapping("/send-otp")
     public ResponseEntity<String> sendOtp(@RequestParam String email) {
         try {
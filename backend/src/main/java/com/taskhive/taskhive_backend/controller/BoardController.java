@@ -6,17 +6,30 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.taskhive.taskhive_backend.config.PaginationProperties;
+import com.taskhive.taskhive_backend.dto.BoardSummary;
+import com.taskhive.taskhive_backend.dto.PageResponse;
 import com.taskhive.taskhive_backend.model.Board;
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.model.Workspace;
 import com.taskhive.taskhive_backend.repository.WorkspaceRepository;
 import com.taskhive.taskhive_backend.security.CustomUserDetails;
+import com.taskhive.taskhive_backend.service.BoardChangeService;
+import com.taskhive.taskhive_backend.service.BoardEventHub;
 import com.taskhive.taskhive_backend.service.BoardService;
+import com.taskhive.taskhive_backend.service.BoardSnapshotCache;
 import com.taskhive.taskhive_backend.service.UserService;
+import com.taskhive.taskhive_backend.service.WorkspaceMembershipService;
 
 @RestController
 @RequestMapping("/api/boards")
@@ -33,6 +46,21 @@ public class BoardController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private BoardSnapshotCache boardSnapshotCache;
+
+    @Autowired
+    private BoardChangeService boardChangeService;
+
+    @Autowired
+    private BoardEventHub boardEventHub;
+
     @PostMapping("")
     public ResponseEntity<?> createBoard(@RequestBody Map<String, Object> request, Authentication authentication) {
         try {
@@ -49,14 +77,14 @@ public class BoardController {
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
 
-           Workspace workspace = workspaceRepository.findById(workspaceId)
-               .filter(ws -> ws.getUsers().contains(user))
-              .orElseThrow(() -> new RuntimeException("Workspace not found or user is not a collaborator"));
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
+                throw new RuntimeException("Workspace not found or user is not a collaborator");
+            }
+            Workspace workspace = workspaceRepository.findById(workspaceId)
+                    .orElseThrow(() -> new RuntimeException("Workspace not found or user is not a collaborator"));
 
             // Optional: prevent duplicate board title within same workspace
-            List<Board> existingBoards = boardService.getBoardsByWorkspace(workspace);
-            boolean alreadyExists = existingBoards.stream().anyMatch(b -> b.getTitle().equalsIgnoreCase(title));
-            if (alreadyExists) {
+            if (boardService.existsInWorkspace(workspaceId, title)) {
                 return ResponseEntity.badRequest().body("A board with this title already exists in the workspace.");
             }
 
@@ -82,18 +110,21 @@ public class BoardController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getBoardsByWorkspace(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<?> getBoardsByWorkspace(@PathVariable("id") Long id,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  Authentication authentication) {
         try {
             String email = extractEmailFromPrincipal(authentication);
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("Authenticated user not found in database"));
 
-           Workspace workspace = workspaceRepository.findById(id)
-        .filter(ws -> ws.getUsers().contains(user))
-        .orElseThrow(() -> new RuntimeException("Workspace not found or user is not a collaborator"));
-            
-
-            List<Board> boards = boardService.getBoardsByWorkspace(workspace);
+            if (!membershipService.isMember(user.getId(), id)) {
+                throw new RuntimeException("Workspace not found or user is not a collaborator");
+            }
+            // An invalid cursor is an IllegalArgumentException, reported as 400 below
+            PageResponse<BoardSummary> boards = boardService.getBoardSummaries(id, cursor,
+                    paginationProperties.resolvePageSize(limit));
             return ResponseEntity.ok(boards);
         } catch (RuntimeException re) {
             return ResponseEntity.badRequest().body(re.getMessage());
@@ -102,6 +133,88 @@ public class BoardController {
         }
     }
 
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<?> getBoardSnapshot(@PathVariable("id") Long id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (userDetails == null) {
+            return ResponseEntity.status(403).body("Unauthorized");
+        }
+        try {
+            return boardSnapshotCache.getSnapshot(id, userDetails.getUser().getId())
+                    .<ResponseEntity<?>>map(snapshot -> {
+                        // no-cache: clients may keep the body but must revalidate, which is a cheap 304
+                        if (etagMatches(ifNoneMatch, snapshot.etag())) {
+                            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(snapshot.etag())
+                                    .cacheControl(CacheControl.noCache())
+                                    .build();
+                        }
+                        return ResponseEntity.ok()
+                                .eTag(snapshot.etag())
+                                .cacheControl(CacheControl.noCache())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(snapshot.json());
+                    })
+                    .orElseGet(() -> ResponseEntity.status(404).body("Board not found or user is not a collaborator"));
+        } catch (Exception ex) {
+            logger.error("Error loading board snapshot: ", ex);
+            return ResponseEntity.status(500).body("Internal server error: " + ex.getMessage());
+        }
+    }
+
+    // Push channel: "change" events per committed board change, "resync" when events were dropped
+    @GetMapping("/{id}/events")
+    public ResponseEntity<SseEmitter> subscribeToBoard(@PathVariable("id") Long id,
+                                                       @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (userDetails == null) {
+            return ResponseEntity.status(403).build();
+        }
+        if (!membershipService.isMemberOfBoard(userDetails.getUser().getId(), id)) {
+            return ResponseEntity.status(404).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(boardEventHub.subscribe(id, userDetails.getUser().getId()));
+    }
+
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<?> getBoardChanges(@PathVariable("id") Long id,
+                                             @RequestParam("since") String since,
+                                             @RequestParam(required = false) Integer limit,
+                                             @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (userDetails == null) {
+            return ResponseEntity.status(403).body("Unauthorized");
+        }
+        try {
+            return boardChangeService.getChanges(id, userDetails.getUser().getId(), since,
+                            paginationProperties.resolvePageSize(limit))
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(404).body("Board not found or user is not a collaborator"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception ex) {
+            logger.error("Error loading board changes: ", ex);
+            return ResponseEntity.status(500).body("Internal server error: " + ex.getMessage());
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String extractEmailFromPrincipal(Authentication authentication) {
         Object principal = authentication.getPrincipal();
         if (principal instanceof CustomUserDetails userDetails) {
@@ -1,16 +1,29 @@
 package com.taskhive.taskhive_backend.controller;
 
+import com.taskhive.taskhive_backend.config.PaginationProperties;
+import com.taskhive.taskhive_backend.dto.CardView;
+import com.taskhive.taskhive_backend.dto.PageResponse;
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
 import com.taskhive.taskhive_backend.model.Card;
 import com.taskhive.taskhive_backend.model.TaskList;
 import com.taskhive.taskhive_backend.model.User;
+import com.taskhive.taskhive_backend.payload.BulkCardRequest;
 import com.taskhive.taskhive_backend.payload.CardRequest;
+import com.taskhive.taskhive_backend.payload.MoveCardRequest;
 import com.taskhive.taskhive_backend.repository.CardRepository;
 import com.taskhive.taskhive_backend.repository.TaskListRepository;
 import com.taskhive.taskhive_backend.repository.UserRepository;
 import com.taskhive.taskhive_backend.service.ActivityLogService;
+import com.taskhive.taskhive_backend.service.CardService;
+import com.taskhive.taskhive_backend.service.RankService;
+import com.taskhive.taskhive_backend.service.WorkspaceMembershipService;
+import com.taskhive.taskhive_backend.util.PageCursor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
@@ -33,6 +46,18 @@ public class CardController {
     @Autowired
     private ActivityLogService activityLogService;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private RankService rankService;
+
     // Create a card
     @PostMapping
     public ResponseEntity<?> createCard(@RequestBody CardRequest cardRequest, Authentication authentication) {
@@ -44,7 +69,8 @@ public class CardController {
             TaskList list = listRepository.findById(cardRequest.getListId())
                     .orElseThrow(() -> new RuntimeException("Task list not found"));
 
-            if (!list.getBoard().getWorkspace().getUsers().contains(user)) {
+            Long workspaceId = list.getBoard().getWorkspace().getId();
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
                 return ResponseEntity.status(403).body("Forbidden: You are not a collaborator on this workspace");
             }
 
@@ -52,13 +78,14 @@ public class CardController {
             card.setTitle(cardRequest.getTitle());
             card.setDescription(cardRequest.getDescription());
             card.setList(list);
+            card.setRankKey(rankService.append(RankService.Scope.CARDS, list.getId()));
             card.setDueDate(cardRequest.getDueDate());
 
             if (cardRequest.getAssignedUserId() != null) {
                 User assignee = userRepository.findById(cardRequest.getAssignedUserId())
                         .orElseThrow(() -> new RuntimeException("Assigned user not found with ID: " + cardRequest.getAssignedUserId()));
 
-                if (!list.getBoard().getWorkspace().getUsers().contains(assignee)) {
+                if (!membershipService.isMember(assignee.getId(), workspaceId)) {
                     return ResponseEntity.status(400).body("Assigned user is not part of this workspace");
                 }
 
@@ -67,8 +94,7 @@ public class CardController {
 
             Card savedCard = cardRepository.save(card);
 
-            String location = "List: " + list.getTitle() + " → Card: " + card.getTitle();
-            activityLogService.logActivity(user, "created card", location);
+            activityLogService.logActivity(user, ActivityAction.CREATED_CARD, ActivityTarget.card(savedCard));
 
             return ResponseEntity.ok(savedCard);
         } catch (Exception e) {
@@ -78,26 +104,87 @@ public class CardController {
 
     // Get cards by list
     @GetMapping("/list/{listId}")
-    public ResponseEntity<?> getCardsByList(@PathVariable Long listId, Authentication authentication) {
+    public ResponseEntity<?> getCardsByList(@PathVariable Long listId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            Authentication authentication) {
         try {
             String email = authentication.getName();
             User user = userRepository.findByEmail(email)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-            TaskList list = listRepository.findById(listId)
+            Long workspaceId = membershipService.findWorkspaceIdOfList(listId)
                     .orElseThrow(() -> new RuntimeException("Task list not found"));
 
-            if (!list.getBoard().getWorkspace().getUsers().contains(user)) {
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
                 return ResponseEntity.status(403).body("Forbidden: You are not a collaborator on this workspace");
             }
 
-            List<Card> cards = cardRepository.findByList(list);
-            return ResponseEntity.ok(cards);
+            int pageSize = paginationProperties.resolvePageSize(limit);
+            PageCursor.KeyedPosition after = cursor == null
+                    ? new PageCursor.KeyedPosition("", 0L)
+                    : PageCursor.decodeKeyed(cursor);
+            List<CardView> cards = cardRepository.findViewsByListId(listId, after.key(), after.id(),
+                    Limit.of(pageSize + 1));
+            return ResponseEntity.ok(PageResponse.of(cards, pageSize,
+                    card -> PageCursor.encodeKeyed(card.rankKey(), card.id())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error retrieving cards: " + e.getMessage());
         }
     }
 
+    // Drag-and-drop: reorder within the list or move to another list/board of the same workspace
+    @PutMapping("/{cardId}/move")
+    public ResponseEntity<?> moveCard(@PathVariable Long cardId,
+                                      @RequestBody MoveCardRequest request,
+                                      Authentication authentication) {
+        try {
+            String email = authentication.getName();
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+            Long workspaceId = membershipService.findWorkspaceIdOfCard(cardId)
+                    .orElseThrow(() -> new RuntimeException("Card not found"));
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
+                return ResponseEntity.status(403).body("Forbidden: You are not a collaborator on this workspace");
+            }
+            if (request.getListId() != null) {
+                Long targetWorkspaceId = membershipService.findWorkspaceIdOfList(request.getListId())
+                        .orElseThrow(() -> new RuntimeException("Task list not found"));
+                // Same workspace keeps the assignee, comments and attachments with their members
+                if (!targetWorkspaceId.equals(workspaceId)) {
+                    return ResponseEntity.badRequest().body("Cards can only move between boards of the same workspace");
+                }
+            }
+
+            return ResponseEntity.ok(cardService.moveCard(cardId, request, user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Error moving card: " + e.getMessage());
+        }
+    }
+
+    // Several card operations (move, archive, assign, due date) in one transaction
+    @PostMapping("/bulk")
+    public ResponseEntity<?> applyBulk(@RequestBody BulkCardRequest request, Authentication authentication) {
+        try {
+            String email = authentication.getName();
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+            return ResponseEntity.ok(cardService.applyBulk(request, user));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Error applying card operations: " + e.getMessage());
+        }
+    }
+
     // Update card (title, description, due date, assignee)
     @PutMapping("/{cardId}")
     public ResponseEntity<?> updateCard(@PathVariable Long cardId,
@@ -111,7 +198,8 @@ public class CardController {
             Card card = cardRepository.findById(cardId)
                     .orElseThrow(() -> new RuntimeException("Card not found"));
 
-            if (!card.getList().getBoard().getWorkspace().getUsers().contains(user)) {
+            Long workspaceId = card.getList().getBoard().getWorkspace().getId();
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
                 return ResponseEntity.status(403).body("Forbidden: You are not a collaborator on this workspace");
             }
 
@@ -123,7 +211,7 @@ public class CardController {
                 User assignee = userRepository.findById(request.getAssignedUserId())
                         .orElseThrow(() -> new RuntimeException("Assigned user not found"));
 
-                if (!card.getList().getBoard().getWorkspace().getUsers().contains(assignee)) {
+                if (!membershipService.isMember(assignee.getId(), workspaceId)) {
                     return ResponseEntity.status(400).body("Assigned user is not part of this workspace");
                 }
 
@@ -134,8 +222,7 @@ public class CardController {
 
             Card updatedCard = cardRepository.save(card);
 
-            String location = "Card: " + card.getTitle();
-            activityLogService.logActivity(user, "updated card", location);
+            activityLogService.logActivity(user, ActivityAction.UPDATED_CARD, ActivityTarget.card(updatedCard));
 
             return ResponseEntity.ok(updatedCard);
         } catch (Exception e) {
@@ -1,9 +1,15 @@
 package com.taskhive.taskhive_backend.controller;
 
+import com.taskhive.taskhive_backend.config.PaginationProperties;
+import com.taskhive.taskhive_backend.dto.CommentView;
+import com.taskhive.taskhive_backend.dto.PageResponse;
 import com.taskhive.taskhive_backend.model.*;
 import com.taskhive.taskhive_backend.payload.CommentRequest;
 import com.taskhive.taskhive_backend.repository.*;
+import com.taskhive.taskhive_backend.service.WorkspaceMembershipService;
+import com.taskhive.taskhive_backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -24,6 +30,12 @@ public class CommentController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     @PostMapping
     public ResponseEntity<?> createComment(@RequestBody CommentRequest request, Authentication authentication) {
         try {
@@ -37,7 +49,7 @@ public class CommentController {
             Workspace workspace = card.getList().getBoard().getWorkspace();
 
             // ✅ Check if the user is a member of the workspace
-            if (!workspace.getUsers().contains(user)) {
+            if (!membershipService.isMember(user.getId(), workspace.getId())) {
                 return ResponseEntity.status(403).body("Forbidden: You do not have access to this card");
             }
 
@@ -53,24 +65,37 @@ public class CommentController {
     }
 
     @GetMapping("/card/{cardId}")
-    public ResponseEntity<?> getCommentsByCard(@PathVariable Long cardId, Authentication authentication) {
+    public ResponseEntity<?> getCommentsByCard(@PathVariable Long cardId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit,
+                                               Authentication authentication) {
         try {
             String email = authentication.getName();
             User user = userRepository.findByEmail(email)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-            Card card = cardRepository.findById(cardId)
+            Long workspaceId = membershipService.findWorkspaceIdOfCard(cardId)
                     .orElseThrow(() -> new RuntimeException("Card not found"));
 
-            Workspace workspace = card.getList().getBoard().getWorkspace();
-
             // ✅ Check if the user is a member of the workspace
-            if (!workspace.getUsers().contains(user)) {
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
                 return ResponseEntity.status(403).body("Forbidden: You do not have access to this card");
             }
 
-            List<Comment> comments = commentRepository.findByCard(card);
-            return ResponseEntity.ok(comments);
+            int pageSize = paginationProperties.resolvePageSize(limit);
+            List<CommentView> comments;
+            if (cursor == null) {
+                comments = commentRepository.findViewsByCardId(cardId, Limit.of(pageSize + 1));
+            } else {
+                long[] position = PageCursor.decode(cursor, 2);
+                comments = commentRepository.findViewsByCardIdAfter(cardId, PageCursor.fromMicros(position[0]),
+                        position[1], Limit.of(pageSize + 1));
+            }
+            return ResponseEntity.ok(PageResponse.of(comments, pageSize,
+                    comment -> PageCursor.encode(comment.createdAt() == null ? 0 : PageCursor.toMicros(comment.createdAt()),
+                            comment.id())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error retrieving comments: " + e.getMessage());
         }
@@ -3,10 +3,14 @@ package com.taskhive.taskhive_backend.controller;
 import com.taskhive.taskhive_backend.model.Board;
 import com.taskhive.taskhive_backend.model.TaskList;
 import com.taskhive.taskhive_backend.model.User;
+import com.taskhive.taskhive_backend.payload.MoveListRequest;
 import com.taskhive.taskhive_backend.payload.TasklistRequest;
 import com.taskhive.taskhive_backend.repository.BoardRepository;
 import com.taskhive.taskhive_backend.repository.TaskListRepository;
 import com.taskhive.taskhive_backend.repository.UserRepository;
+import com.taskhive.taskhive_backend.service.RankService;
+import com.taskhive.taskhive_backend.service.TaskListService;
+import com.taskhive.taskhive_backend.service.WorkspaceMembershipService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -28,6 +32,15 @@ public class TaskListController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private RankService rankService;
+
     @PostMapping
     public ResponseEntity<?> createTaskList(@RequestBody TasklistRequest request, Authentication authentication) {
         try {
@@ -39,13 +52,14 @@ public class TaskListController {
                     .orElseThrow(() -> new RuntimeException("Board not found with ID: " + request.getBoardId()));
 
             // ✅ Check if the user is a member of the workspace
-            if (!board.getWorkspace().getUsers().contains(user)) {
+            if (!membershipService.isMember(user.getId(), board.getWorkspace().getId())) {
                 return ResponseEntity.status(403).body("Forbidden: You are not a member of this workspace");
             }
 
             TaskList taskList = new TaskList();
             taskList.setTitle(request.getTitle());
             taskList.setBoard(board);
+            taskList.setRankKey(rankService.append(RankService.Scope.LISTS, board.getId()));
 
             TaskList savedList = taskListRepository.save(taskList);
             return ResponseEntity.ok(savedList);
@@ -56,6 +70,37 @@ public class TaskListController {
         }
     }
 
+    // Drag-and-drop: reorder within the board or move to another board of the same workspace
+    @PutMapping("/{listId}/move")
+    public ResponseEntity<?> moveTaskList(@PathVariable Long listId,
+                                          @RequestBody MoveListRequest request,
+                                          Authentication authentication) {
+        try {
+            String email = authentication.getName();
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+            Long workspaceId = membershipService.findWorkspaceIdOfList(listId)
+                    .orElseThrow(() -> new RuntimeException("List not found"));
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
+                return ResponseEntity.status(403).body("Forbidden: You are not a member of this workspace");
+            }
+            if (request.getBoardId() != null) {
+                Long targetWorkspaceId = membershipService.findWorkspaceIdOfBoard(request.getBoardId())
+                        .orElseThrow(() -> new RuntimeException("Board not found"));
+                if (!targetWorkspaceId.equals(workspaceId)) {
+                    return ResponseEntity.badRequest().body("Lists can only move between boards of the same workspace");
+                }
+            }
+
+            return ResponseEntity.ok(taskListService.moveList(listId, request, user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Error moving list: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/board/{boardId}")
     public ResponseEntity<?> getListsByBoard(@PathVariable Long boardId, Authentication authentication) {
         try {
@@ -63,15 +108,15 @@ public class TaskListController {
             User user = userRepository.findByEmail(email)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-            Board board = boardRepository.findById(boardId)
+            Long workspaceId = membershipService.findWorkspaceIdOfBoard(boardId)
                     .orElseThrow(() -> new RuntimeException("Board not found"));
 
             // ✅ Check if the user is a member of the workspace
-            if (!board.getWorkspace().getUsers().contains(user)) {
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
                 return ResponseEntity.status(403).body("Forbidden: You are not a member of this workspace");
             }
 
-            return ResponseEntity.ok(taskListRepository.findByBoard(board));
+            return ResponseEntity.ok(taskListRepository.findSummariesByBoardId(boardId));
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Error retrieving lists: " + e.getMessage());
         }
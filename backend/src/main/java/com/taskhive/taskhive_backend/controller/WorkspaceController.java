@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.model.Workspace;
+import com.taskhive.taskhive_backend.payload.ActivityRetentionRequest;
 import com.taskhive.taskhive_backend.payload.InviteUserRequest;
 import com.taskhive.taskhive_backend.payload.WorkspaceRequest;
 import com.taskhive.taskhive_backend.repository.UserRepository;
@@ -90,6 +91,24 @@ public class WorkspaceController {
         return ResponseEntity.ok(updated);
     }
 
+    // Owner-only: how long the workspace's activity history is kept
+    @PutMapping("/{workspaceId}/activity-retention")
+    public ResponseEntity<?> setActivityRetention(@PathVariable Long workspaceId,
+                                                  @RequestBody ActivityRetentionRequest request,
+                                                  @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (userDetails == null) {
+            return ResponseEntity.status(403).body("Unauthorized");
+        }
+        try {
+            Workspace updated = workspaceService.setActivityRetention(workspaceId, request.getDays(), userDetails.getUser());
+            return ResponseEntity.ok(updated);
+        } catch (SecurityException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping
     public ResponseEntity<?> getUserWorkspaces(@AuthenticationPrincipal CustomUserDetails userDetails) {
         if (userDetails == null) {
@@ -0,0 +1,15 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.time.LocalDateTime;
+
+// Optional filters of GET /api/activity-logs; from is inclusive, to exclusive
+public record ActivityLogFilter(
+        Long workspaceId,
+        Long boardId,
+        Long cardId,
+        String targetType,
+        Long targetId,
+        Long actorId,
+        LocalDateTime from,
+        LocalDateTime to) {
+}
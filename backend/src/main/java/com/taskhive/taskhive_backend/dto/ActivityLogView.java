@@ -0,0 +1,22 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.time.LocalDateTime;
+
+// Replaces the serialized User (and everything reachable from it) with its id and username.
+// action and location are rendered from actionCode when it is set (see ActivityRenderer)
+public record ActivityLogView(
+        Long id,
+        Short actionCode,
+        String action,
+        String targetType,
+        Long targetId,
+        LocalDateTime timestamp,
+        String location,
+        Long userId,
+        String username,
+        Long workspaceId,
+        Long boardId,
+        Long listId,
+        Long cardId,
+        String payload) {
+}
@@ -0,0 +1,24 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.util.List;
+
+/**
+ * Response of GET /api/boards/{id}/changes. Entities are in their snapshot shape and
+ * collapsed to their latest state; deleted ones are listed as tombstone ids. When
+ * {@code reset} is true the change log no longer reaches back to the client's cursor and
+ * it must reload the snapshot (which carries a fresh cursor).
+ */
+public record BoardChanges(
+        boolean reset,
+        String cursor,
+        boolean hasMore,
+        BoardSummary board,
+        List<ListSummary> lists,
+        List<CardSummary> cards,
+        List<Long> deletedListIds,
+        List<Long> deletedCardIds) {
+
+    public static BoardChanges resetRequired() {
+        return new BoardChanges(true, null, false, null, List.of(), List.of(), List.of(), List.of());
+    }
+}
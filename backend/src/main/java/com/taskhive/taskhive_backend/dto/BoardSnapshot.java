@@ -0,0 +1,14 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.util.List;
+
+/**
+ * Everything the board screen needs in one response: the board, its lists in order and a
+ * lightweight summary of each card. See BoardService#getSnapshot. {@code changesCursor} is
+ * the position to pass to GET /api/boards/{id}/changes to catch up from this snapshot.
+ */
+public record BoardSnapshot(BoardSummary board, List<ListSnapshot> lists, String changesCursor) {
+
+    public record ListSnapshot(Long id, String title, String rankKey, List<CardSummary> cards) {
+    }
+}
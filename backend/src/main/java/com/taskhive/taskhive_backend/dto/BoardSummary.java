@@ -0,0 +1,4 @@
+package com.taskhive.taskhive_backend.dto;
+
+public record BoardSummary(Long id, String title, Long workspaceId) {
+}
@@ -0,0 +1,6 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.util.List;
+
+public record BulkCardResult(int applied, List<Long> boardIds) {
+}
@@ -0,0 +1,5 @@
+package com.taskhive.taskhive_backend.dto;
+
+// Where a card lives; fetched for many cards at once so bulk operations authorize per board
+public record CardLocation(Long cardId, String title, Long listId, Long boardId, Long workspaceId) {
+}
@@ -0,0 +1,17 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+// Built directly by a JPQL constructor expression; listId lets delta-sync clients place the card
+public record CardSummary(
+        Long id,
+        Long listId,
+        String rankKey,
+        String title,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime dueDate,
+        Long assignedUserId,
+        long commentCount,
+        long attachmentCount) {
+}
@@ -0,0 +1,16 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+// Same fields the Card entity serialized to, plus its rank and the assignee id
+public record CardView(
+        Long id,
+        String title,
+        String description,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime dueDate,
+        boolean reminderSent,
+        String rankKey,
+        Long assignedUserId) {
+}
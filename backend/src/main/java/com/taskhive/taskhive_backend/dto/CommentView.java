@@ -0,0 +1,6 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.time.LocalDateTime;
+
+public record CommentView(Long id, String content, LocalDateTime createdAt, Long userId, String username) {
+}
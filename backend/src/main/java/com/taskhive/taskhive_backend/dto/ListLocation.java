@@ -0,0 +1,4 @@
+package com.taskhive.taskhive_backend.dto;
+
+public record ListLocation(Long listId, String title, Long boardId, Long workspaceId) {
+}
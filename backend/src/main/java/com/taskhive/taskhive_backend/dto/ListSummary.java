@@ -0,0 +1,4 @@
+package com.taskhive.taskhive_backend.dto;
+
+public record ListSummary(Long id, String title, String rankKey) {
+}
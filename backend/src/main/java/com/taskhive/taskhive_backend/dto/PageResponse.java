@@ -0,0 +1,23 @@
+package com.taskhive.taskhive_backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated endpoint. {@code nextCursor} is opaque to clients (see
+ * PageCursor) and null on the last page.
+ */
+public record PageResponse<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched {@code pageSize + 1} rows: the extra row only
+     * tells us there is a next page, and the cursor points at the last row returned.
+     */
+    public static <T> PageResponse<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new PageResponse<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+}
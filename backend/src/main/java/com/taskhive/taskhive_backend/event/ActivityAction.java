@@ -0,0 +1,63 @@
+package com.taskhive.taskhive_backend.event;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What happened, stored as a small numeric code. The label and location text shown to
+ * clients are rendered at read time (see ActivityRenderer). Codes are persisted: never
+ * renumber or reuse them.
+ */
+public enum ActivityAction {
+
+    CREATED_WORKSPACE(1, "Created workspace", "Workspace: {workspace}"),
+    INVITED_USER(2, "Invited user", "Invited {payload} to TaskHive"),
+    CREATED_BOARD(10, "Created board", "Board: {board}"),
+    CREATED_LIST(20, "created list", "Board: {board} → List: {list}"),
+    MOVED_LIST(21, "moved list", "Board: {board} → List: {list}"),
+    CREATED_CARD(30, "created card", "List: {list} → Card: {card}"),
+    UPDATED_CARD(31, "updated card", "Card: {card}"),
+    MOVED_CARD(32, "moved card", "List: {list} → Card: {card}"),
+    // The card row is gone by the time anyone reads this, so its title travels in the payload
+    DELETED_CARD(33, "deleted card", "Card: {payload}"),
+    ARCHIVED_CARD(34, "archived card", "Card: {card}"),
+    UNARCHIVED_CARD(35, "unarchived card", "Card: {card}"),
+    ASSIGNED_CARD(36, "assigned card", "Card: {card}"),
+    UNASSIGNED_CARD(37, "unassigned card", "Card: {card}"),
+    UPDATED_DUE_DATE(38, "updated due date", "Card: {card}");
+
+    private static final Map<Short, ActivityAction> BY_CODE = new HashMap<>();
+
+    static {
+        for (ActivityAction action : values()) {
+            BY_CODE.put(action.code, action);
+        }
+    }
+
+    private final short code;
+    private final String label;
+    private final String template;
+
+    ActivityAction(int code, String label, String template) {
+        this.code = (short) code;
+        this.label = label;
+        this.template = template;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public String template() {
+        return template;
+    }
+
+    // Null for codes this build does not know (written by a newer version)
+    public static ActivityAction fromCode(Short code) {
+        return code == null ? null : BY_CODE.get(code);
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskhive.taskhive_backend.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * One activity-log entry waiting to be written; see ActivityLogWriter. Coded entries carry an
+ * action, a target and an optional short payload. Free-text entries (text and location, the
+ * pre-code format) have no action.
+ */
+public record ActivityEvent(Long userId, ActivityAction action, ActivityTarget target, String payload,
+                            String text, String location, LocalDateTime timestamp) {
+
+    /** Length of the activity_log text columns (action, location, payload). */
+    public static final int MAX_TEXT_LENGTH = 255;
+
+    /**
+     * This entry with its text fields cut to {@link #MAX_TEXT_LENGTH}. Free text comes from
+     * clients, and a value the column cannot hold would fail the whole batch it is saved in.
+     */
+    public ActivityEvent truncated() {
+        if (fits(payload) && fits(text) && fits(location)) {
+            return this;
+        }
+        return new ActivityEvent(userId, action, target, cut(payload), cut(text), cut(location), timestamp);
+    }
+
+    private static boolean fits(String value) {
+        return value == null || value.length() <= MAX_TEXT_LENGTH;
+    }
+
+    private static String cut(String value) {
+        if (fits(value)) {
+            return value;
+        }
+        // Never split a surrogate pair
+        int end = Character.isHighSurrogate(value.charAt(MAX_TEXT_LENGTH - 1)) ? MAX_TEXT_LENGTH - 1 : MAX_TEXT_LENGTH;
+        return value.substring(0, end);
+    }
+}
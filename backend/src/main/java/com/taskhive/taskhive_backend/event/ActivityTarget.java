@@ -0,0 +1,46 @@
+package com.taskhive.taskhive_backend.event;
+
+import com.taskhive.taskhive_backend.model.Board;
+import com.taskhive.taskhive_backend.model.Card;
+import com.taskhive.taskhive_backend.model.TaskList;
+import com.taskhive.taskhive_backend.model.Workspace;
+
+/**
+ * What an activity entry is about, plus the workspace, board, list and card it belongs to.
+ * Activity queries filter on these denormalized IDs and names are rendered from them at read
+ * time. Entries outlive the rows they mention.
+ */
+public record ActivityTarget(String type, Long id, Long workspaceId, Long boardId, Long listId, Long cardId) {
+
+    public static ActivityTarget workspace(Workspace workspace) {
+        return new ActivityTarget("Workspace", workspace.getId(), workspace.getId(), null, null, null);
+    }
+
+    public static ActivityTarget board(Board board) {
+        return new ActivityTarget("Board", board.getId(), workspaceIdOf(board), board.getId(), null, null);
+    }
+
+    public static ActivityTarget list(TaskList list) {
+        Board board = list.getBoard();
+        return new ActivityTarget("List", list.getId(), workspaceIdOf(board), idOf(board), list.getId(), null);
+    }
+
+    public static ActivityTarget card(Card card) {
+        TaskList list = card.getList();
+        Board board = list == null ? null : list.getBoard();
+        return new ActivityTarget("Card", card.getId(), workspaceIdOf(board), idOf(board),
+                list == null ? null : list.getId(), card.getId());
+    }
+
+    public static ActivityTarget card(Long cardId, Long listId, Long boardId, Long workspaceId) {
+        return new ActivityTarget("Card", cardId, workspaceId, boardId, listId, cardId);
+    }
+
+    private static Long idOf(Board board) {
+        return board == null ? null : board.getId();
+    }
+
+    private static Long workspaceIdOf(Board board) {
+        return board == null || board.getWorkspace() == null ? null : board.getWorkspace().getId();
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskhive.taskhive_backend.event;
+
+import java.util.List;
+
+/**
+ * Many board changes from one set-based write (bulk card operations, rank rebalancing).
+ * Listeners treat it as the individual events, but the change log can record it with one
+ * statement per board plus one batched insert.
+ */
+public record BoardChangeBatchEvent(List<BoardChangedEvent> changes) {
+}
@@ -0,0 +1,65 @@
+package com.taskhive.taskhive_backend.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.taskhive.taskhive_backend.model.Attachment;
+import com.taskhive.taskhive_backend.model.Board;
+import com.taskhive.taskhive_backend.model.Card;
+import com.taskhive.taskhive_backend.model.Comment;
+import com.taskhive.taskhive_backend.model.TaskList;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on every entity that is part of a board's read model. Turns inserts, updates
+ * and deletes into {@link BoardChangedEvent}s, so no write path has to remember to do it.
+ * Bulk JPQL updates bypass entity callbacks and must publish the event themselves.
+ */
+@Component
+public class BoardChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BoardChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        if (entity instanceof Board board) {
+            publish(board.getId(), BoardEntityType.BOARD, board.getId(), removed);
+        } else if (entity instanceof TaskList list) {
+            publish(boardIdOf(list), BoardEntityType.LIST, list.getId(), removed);
+        } else if (entity instanceof Card card) {
+            publish(boardIdOf(card.getList()), BoardEntityType.CARD, card.getId(), removed);
+        } else if (entity instanceof Comment comment && comment.getCard() != null) {
+            // Only the card's comment count is part of the board view
+            publish(boardIdOf(comment.getCard().getList()), BoardEntityType.CARD, comment.getCard().getId(), false);
+        } else if (entity instanceof Attachment attachment && attachment.getCard() != null) {
+            publish(boardIdOf(attachment.getCard().getList()), BoardEntityType.CARD, attachment.getCard().getId(), false);
+        }
+    }
+
+    private void publish(Long boardId, BoardEntityType type, Long entityId, boolean deleted) {
+        if (boardId != null && entityId != null) {
+            eventPublisher.publishEvent(new BoardChangedEvent(boardId, type, entityId, deleted));
+        }
+    }
+
+    private static Long boardIdOf(TaskList list) {
+        return list != null && list.getBoard() != null ? list.getBoard().getId() : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskhive.taskhive_backend.event;
+
+/**
+ * Something visible on a board changed. {@code entityType}/{@code entityId} name the snapshot
+ * entity affected (a comment or attachment change is reported as an upsert of its card),
+ * and {@code deleted} marks a tombstone. Published inside the writing transaction;
+ * consumers that must only see committed changes listen with
+ * {@code @TransactionalEventListener}.
+ */
+public record BoardChangedEvent(Long boardId, BoardEntityType entityType, Long entityId, boolean deleted) {
+}
@@ -0,0 +1,8 @@
+package com.taskhive.taskhive_backend.event;
+
+// Entities that make up a board snapshot; comments and attachments surface as their card
+public enum BoardEntityType {
+    BOARD,
+    LIST,
+    CARD
+}
@@ -0,0 +1,10 @@
+package com.taskhive.taskhive_backend.event;
+
+import java.util.List;
+
+/**
+ * The workspace memberships of these users changed (joined, left or removed). Published by
+ * WorkspaceMembershipService inside the writing transaction.
+ */
+public record MembershipChangedEvent(List<Long> userIds) {
+}
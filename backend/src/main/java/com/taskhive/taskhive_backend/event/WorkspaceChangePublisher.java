@@ -0,0 +1,39 @@
+package com.taskhive.taskhive_backend.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.taskhive.taskhive_backend.model.Workspace;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on Workspace. Turns updates and deletes into {@link WorkspaceChangedEvent}s
+ * for caches keyed by workspace, such as the activity renderer's names.
+ */
+@Component
+public class WorkspaceChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public WorkspaceChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    public void onSaved(Workspace workspace) {
+        publish(workspace, false);
+    }
+
+    @PostRemove
+    public void onRemoved(Workspace workspace) {
+        publish(workspace, true);
+    }
+
+    private void publish(Workspace workspace, boolean deleted) {
+        if (workspace.getId() != null) {
+            eventPublisher.publishEvent(new WorkspaceChangedEvent(workspace.getId(), deleted));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskhive.taskhive_backend.event;
+
+/**
+ * A workspace row was updated or deleted (a rename, say). Published inside the writing
+ * transaction by WorkspaceChangePublisher, like {@link BoardChangedEvent}.
+ */
+public record WorkspaceChangedEvent(Long workspaceId, boolean deleted) {
+}
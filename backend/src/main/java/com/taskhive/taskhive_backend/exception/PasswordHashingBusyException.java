@@ -0,0 +1,12 @@
+package com.taskhive.taskhive_backend.exception;
+
+/**
+ * Thrown when the password-hashing pool is saturated. Mapped to 503 with Retry-After by
+ * {@link GlobalExceptionHandler} so clients back off instead of piling onto the pool.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
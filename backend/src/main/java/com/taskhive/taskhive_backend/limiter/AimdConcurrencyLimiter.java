@@ -0,0 +1,83 @@
+package com.taskhive.taskhive_backend.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Additive-increase / multiplicative-decrease concurrency limit driven by request latency.
+ * While requests finish under the latency target and the limit is actually being used, the
+ * limit grows by about one per limit's worth of requests. A request over the target cuts it
+ * by {@code backoffRatio}, at most once per target interval, so a single slow burst does not
+ * collapse the limit to the floor. All state is lock-free.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos,
+                                  double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Releases a permit; a negative latency means "no sample" (e.g. async requests). */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos < 0) {
+            return;
+        }
+
+        if (latencyNanos > latencyTargetNanos) {
+            long now = System.nanoTime();
+            long last = lastDecreaseNanos.get();
+            if (now - last > latencyTargetNanos && lastDecreaseNanos.compareAndSet(last, now)) {
+                updateLimit(limit -> limit * backoffRatio);
+            }
+        } else if (inFlightBefore * 2 >= getLimit()) {
+            // Only grow when at least half the limit is in use; idle time proves nothing
+            updateLimit(limit -> limit + 1.0 / limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(java.util.function.DoubleUnaryOperator update) {
+        while (true) {
+            long currentBits = limitBits.get();
+            double next = update.applyAsDouble(Double.longBitsToDouble(currentBits));
+            next = Math.max(minLimit, Math.min(maxLimit, next));
+            if (limitBits.compareAndSet(currentBits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
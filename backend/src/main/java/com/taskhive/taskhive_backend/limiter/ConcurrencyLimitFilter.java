@@ -0,0 +1,84 @@
+package com.taskhive.taskhive_backend.limiter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load with 503 once a route class has as many requests in flight as its adaptive
+ * limit allows. Registered ahead of Spring Security (see ConcurrencyLimitConfig) so rejected
+ * requests never reach JWT parsing or the connection pool. Limits, in-flight counts and
+ * rejections are published as {@code taskhive.concurrency.*{class=...}}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<RouteClass, AimdConcurrencyLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rejections = new EnumMap<>(RouteClass.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        for (RouteClass routeClass : RouteClass.values()) {
+            ConcurrencyLimitProperties.ClassLimit settings =
+                    properties.getClasses().getOrDefault(routeClass, new ConcurrencyLimitProperties.ClassLimit());
+            AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(
+                    settings.getInitialLimit(),
+                    settings.getMinLimit(),
+                    settings.getMaxLimit(),
+                    TimeUnit.MILLISECONDS.toNanos(settings.getLatencyTargetMs()),
+                    settings.getBackoffRatio());
+            limiters.put(routeClass, limiter);
+
+            String tag = routeClass.name().toLowerCase();
+            Gauge.builder("taskhive.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("taskhive.concurrency.inflight", limiter, AimdConcurrencyLimiter::getInFlight)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(routeClass, Counter.builder("taskhive.concurrency.rejected")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RouteClass routeClass = RouteClass.of(request);
+        if (routeClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AimdConcurrencyLimiter limiter = limiters.get(routeClass);
+        if (!limiter.tryAcquire()) {
+            rejections.get(routeClass).increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Async requests return here immediately, so their timing says nothing about load
+            limiter.release(request.isAsyncStarted() ? -1 : System.nanoTime() - start);
+        }
+    }
+}
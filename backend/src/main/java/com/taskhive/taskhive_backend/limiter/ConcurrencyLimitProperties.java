@@ -0,0 +1,29 @@
+package com.taskhive.taskhive_backend.limiter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // Keyed by route class (auth, read, write, upload); missing classes use the defaults below
+    private Map<RouteClass, ClassLimit> classes = new EnumMap<>(RouteClass.class);
+
+    @Data
+    public static class ClassLimit {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private long latencyTargetMs = 500;
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskhive.taskhive_backend.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Partitions requests so a slowdown in one kind of work (e.g. uploads or writes) sheds that
+ * class only, instead of starving cheap reads.
+ */
+public enum RouteClass {
+    AUTH,
+    READ,
+    WRITE,
+    UPLOAD;
+
+    /** Returns null for requests that should never be limited (actuator, SSE streams). */
+    public static RouteClass of(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith("/actuator") || path.endsWith("/events")) {
+            return null;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        String contentType = request.getContentType();
+        if (path.endsWith("/attachments") || path.startsWith("/api/test-upload")
+                || (contentType != null && contentType.startsWith("multipart/"))) {
+            return UPLOAD;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
@@ -10,18 +10,51 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// One index per filter of the activity query API, each ending in the (timestamp, id) page key
+@Table(name = "activity_log", indexes = {
+        @Index(name = "idx_activity_log_time", columnList = "timestamp, id"),
+        @Index(name = "idx_activity_log_user_time", columnList = "user_id, timestamp, id"),
+        @Index(name = "idx_activity_log_target_time", columnList = "target_type, target_id, timestamp, id"),
+        @Index(name = "idx_activity_log_workspace_time", columnList = "workspace_id, timestamp, id"),
+        @Index(name = "idx_activity_log_board_time", columnList = "board_id, timestamp, id"),
+        @Index(name = "idx_activity_log_card_time", columnList = "card_id, timestamp, id")
+})
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_log_seq")
+    @SequenceGenerator(name = "activity_log_seq", sequenceName = "activity_log_seq", allocationSize = 50)
     private Long id;
 
+    // ActivityAction code; null on free-text entries, which use action and location instead
+    @Column(name = "action_code")
+    private Short actionCode;
+
     private String action; // e.g., "created card", "uploaded file"
 
     private String targetType; // e.g., "Card", "Board", "List"
 
     private Long targetId; // ID of the target object (card ID, board ID, etc.)
 
+    // Plain IDs rather than associations, so entries outlive deleted boards and workspaces
+    @Column(name = "workspace_id")
+    private Long workspaceId;
+
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(name = "list_id")
+    private Long listId;
+
+    @Column(name = "card_id")
+    private Long cardId;
+
+    // Action-specific extras the IDs cannot recover (a deleted card's title, an invited email)
+    @Column(length = 255)
+    private String payload;
+
+    // Part of the primary key once activity_log is partitioned (see ActivityPartitionService)
+    @Column(nullable = false)
     private LocalDateTime timestamp;
 
     @ManyToOne
@@ -1,14 +1,18 @@
 package com.taskhive.taskhive_backend.model;
 
+import com.taskhive.taskhive_backend.event.BoardChangePublisher;
+
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attachments")
+@EntityListeners(BoardChangePublisher.class)
+@Table(name = "attachments", indexes = @Index(name = "idx_attachments_card", columnList = "card_id"))
 public class Attachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachments_seq")
+    @SequenceGenerator(name = "attachments_seq", sequenceName = "attachments_seq", allocationSize = 50)
     private Long id;
 
     private String filename;
@@ -4,16 +4,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.taskhive.taskhive_backend.event.BoardChangePublisher;
 
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "boards")
+@EntityListeners(BoardChangePublisher.class)
+@Table(name = "boards", indexes = @Index(name = "idx_boards_workspace_id", columnList = "workspace_id, id"))
 public class Board {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_seq")
+    @SequenceGenerator(name = "boards_seq", sequenceName = "boards_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -29,6 +33,13 @@ public class Board {
     @JsonBackReference
     private Workspace workspace;
 
+    // Per-board change sequence, advanced only by BoardChangeService through SQL (which also
+    // takes the row lock that keeps each board's changes in commit order)
+    @JsonIgnore
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    private long changeSeq;
+
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<TaskList> lists = new ArrayList<>();
@@ -0,0 +1,77 @@
+package com.taskhive.taskhive_backend.model;
+
+import java.time.LocalDateTime;
+
+import com.taskhive.taskhive_backend.event.BoardEntityType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One entry of a board's change log, read by the delta-sync endpoint. Rows are inserted by
+ * BoardChangeService with plain SQL; {@code seq} comes from boards.change_seq, so it is
+ * gap-free and in commit order per board.
+ */
+@Entity
+@Table(name = "board_changes",
+        indexes = @Index(name = "idx_board_changes_board_seq", columnList = "board_id, seq", unique = true))
+public class BoardChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private BoardEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public BoardEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -4,20 +4,34 @@ import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.taskhive.taskhive_backend.event.BoardChangePublisher;
+import com.taskhive.taskhive_backend.util.RankKey;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@EntityListeners(BoardChangePublisher.class)
+@Table(indexes = {
+        @Index(name = "idx_card_list_id", columnList = "list_id, id"),
+        @Index(name = "idx_card_list_rank", columnList = "list_id, rank_key, id"),
+        @Index(name = "idx_card_due_date", columnList = "due_date")
+})
 public class Card {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_seq")
+    @SequenceGenerator(name = "card_seq", sequenceName = "card_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -39,6 +53,22 @@ public class Card {
 
     private boolean reminderSent = false;
 
+    // Archived cards are kept but left out of board, list and delta reads
+    @Column(nullable = false, columnDefinition = "boolean default false not null")
+    private boolean archived = false;
+
+    // Position within the list (see RankKey); byte-wise collation so the index order matches Java's
+    @Column(name = "rank_key", nullable = false, length = 128,
+            columnDefinition = "varchar(128) collate \"C\" default 'U' not null")
+    private String rankKey;
+
+    @PrePersist
+    protected void defaultRank() {
+        if (rankKey == null) {
+            rankKey = RankKey.LEGACY;
+        }
+    }
+
     // Getters and Setters
 
     public Long getId() {
@@ -89,6 +119,22 @@ public class Card {
         this.dueDate = dueDate;
     }
 
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    public String getRankKey() {
+        return rankKey;
+    }
+
+    public void setRankKey(String rankKey) {
+        this.rankKey = rankKey;
+    }
+
     public boolean isReminderSent() {
         return reminderSent;
     }
@@ -0,0 +1,55 @@
+package com.taskhive.taskhive_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Backing row for JpaOtpStore; kept off the users table so OTP churn does not touch it
+@Entity
+@Table(name = "otp_codes", indexes = @Index(name = "idx_otp_codes_expires_at", columnList = "expires_at"))
+public class OtpCode {
+
+    @Id
+    private String email;
+
+    @Column(nullable = false, length = 16)
+    private String code;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    private int attempts;
+
+    public OtpCode() {
+    }
+
+    public OtpCode(String email, String code, LocalDateTime expiresAt) {
+        this.email = email;
+        this.code = code;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
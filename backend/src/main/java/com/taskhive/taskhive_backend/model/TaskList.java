@@ -4,24 +4,35 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.taskhive.taskhive_backend.event.BoardChangePublisher;
+import com.taskhive.taskhive_backend.util.RankKey;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "lists")
+@EntityListeners(BoardChangePublisher.class)
+@Table(name = "lists", indexes = {
+        @Index(name = "idx_lists_board", columnList = "board_id"),
+        @Index(name = "idx_lists_board_rank", columnList = "board_id, rank_key, id")
+})
 public class TaskList {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lists_seq")
+    @SequenceGenerator(name = "lists_seq", sequenceName = "lists_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +44,11 @@ public class TaskList {
     @JsonBackReference
     private Board board;
 
+    // Position within the board (see RankKey)
+    @Column(name = "rank_key", nullable = false, length = 128,
+            columnDefinition = "varchar(128) collate \"C\" default 'U' not null")
+    private String rankKey;
+
     // One list can have many cards
     @OneToMany(mappedBy = "list", cascade = CascadeType.ALL)
     private List<Card> cards = new ArrayList<>();
@@ -54,6 +70,21 @@ public class TaskList {
         this.title = title;
     }
 
+    public String getRankKey() {
+        return rankKey;
+    }
+
+    public void setRankKey(String rankKey) {
+        this.rankKey = rankKey;
+    }
+
+    @PrePersist
+    protected void defaultRank() {
+        if (rankKey == null) {
+            rankKey = RankKey.LEGACY;
+        }
+    }
+
     public Board getBoard() {
         return board;
     }
@@ -1,6 +1,5 @@
 package com.taskhive.taskhive_backend.model;
 
-import java.time.LocalDateTime;
 import java.util.*;
 
 import org.springframework.security.core.GrantedAuthority;
@@ -8,15 +7,18 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.taskhive.taskhive_backend.security.PrincipalCacheInvalidationListener;
 
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,12 +30,16 @@ public class User implements UserDetails {
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
-    private String otp;
-
-    private LocalDateTime otpExpiry;
-
     private boolean isVerified = false;
 
+    // Bumped whenever the user's workspace membership changes; tokens carrying workspace
+    // claims for an older version are re-checked against the database. Only the bulk increment
+    // writes it, so a stale entity never writes an older value back
+    @JsonIgnore
+    @Column(name = "membership_version", nullable = false, updatable = false,
+            columnDefinition = "bigint default 0 not null")
+    private long membershipVersion = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<Board> boards = new ArrayList<>();
@@ -96,22 +102,6 @@ public class User implements UserDetails {
         return passwordHash;
     }
 
-    public String getOtp() {
-        return otp;
-    }
-
-    public void setOtp(String otp) {
-        this.otp = otp;
-    }
-
-    public LocalDateTime getOtpExpiry() {
-        return otpExpiry;
-    }
-
-    public void setOtpExpiry(LocalDateTime otpExpiry) {
-        this.otpExpiry = otpExpiry;
-    }
-
     public boolean isVerified() {
         return isVerified;
     }
@@ -120,6 +110,14 @@ public class User implements UserDetails {
         isVerified = verified;
     }
 
+    public long getMembershipVersion() {
+        return membershipVersion;
+    }
+
+    public void setMembershipVersion(long membershipVersion) {
+        this.membershipVersion = membershipVersion;
+    }
+
     public List<Board> getBoards() {
         return boards;
     }
@@ -3,19 +3,26 @@ package com.taskhive.taskhive_backend.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.taskhive.taskhive_backend.event.WorkspaceChangePublisher;
 
 import jakarta.persistence.*;
 import java.util.*;
 
 @Entity
+@EntityListeners(WorkspaceChangePublisher.class)
 public class Workspace {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspace_seq")
+    @SequenceGenerator(name = "workspace_seq", sequenceName = "workspace_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
+    // Days of activity history to keep; null means activity.retention.default-days
+    @Column(name = "activity_retention_days")
+    private Integer activityRetentionDays;
+
     @ManyToOne
     @JoinColumn(name = "owner_id")
     @JsonBackReference
@@ -25,7 +32,8 @@ public class Workspace {
     @JoinTable(
         name = "workspace_users",
         joinColumns = @JoinColumn(name = "workspace_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_workspace_users_user", columnList = "user_id")
     )
     @JsonIgnore  // prevent infinite recursion
     private Set<User> users = new HashSet<>();
@@ -74,6 +82,14 @@ public class Workspace {
         this.users.add(user);
     }
 
+    public Integer getActivityRetentionDays() {
+        return activityRetentionDays;
+    }
+
+    public void setActivityRetentionDays(Integer activityRetentionDays) {
+        this.activityRetentionDays = activityRetentionDays;
+    }
+
     public List<Board> getBoards() {
         return boards;
     }
@@ -0,0 +1,53 @@
+package com.taskhive.taskhive_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One activity entry as seen by a workspace's feed. Rows are appended by WorkspaceFeedService
+ * with plain SQL when the activity itself is written, so reading a workspace's recent activity
+ * is one index range scan however long the history is.
+ */
+@Entity
+@Table(name = "workspace_feed",
+        indexes = @Index(name = "idx_workspace_feed_workspace_time", columnList = "workspace_id, timestamp, activity_id"))
+public class WorkspaceFeedEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workspace_feed_seq")
+    @SequenceGenerator(name = "workspace_feed_seq", sequenceName = "workspace_feed_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "workspace_id", nullable = false)
+    private Long workspaceId;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public Long getActivityId() {
+        return activityId;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
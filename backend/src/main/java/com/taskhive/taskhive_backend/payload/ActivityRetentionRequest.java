@@ -0,0 +1,14 @@
+package com.taskhive.taskhive_backend.payload;
+
+public class ActivityRetentionRequest {
+    // Null falls back to the server default (activity.retention.default-days)
+    private Integer days;
+
+    public Integer getDays() {
+        return days;
+    }
+
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+}
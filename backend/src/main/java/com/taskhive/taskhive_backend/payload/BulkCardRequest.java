@@ -0,0 +1,76 @@
+package com.taskhive.taskhive_backend.payload;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCardRequest {
+
+    public enum OperationType {
+        MOVE,         // listId: appended to the end of that list
+        ARCHIVE,
+        UNARCHIVE,
+        ASSIGN,       // assignedUserId
+        UNASSIGN,
+        SET_DUE_DATE  // dueDate (null clears it)
+    }
+
+    private List<Operation> operations = new ArrayList<>();
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    public static class Operation {
+        private OperationType type;
+        private Long cardId;
+        private Long listId;
+        private Long assignedUserId;
+        private LocalDateTime dueDate;
+
+        // Getters and Setters
+        public OperationType getType() {
+            return type;
+        }
+
+        public void setType(OperationType type) {
+            this.type = type;
+        }
+
+        public Long getCardId() {
+            return cardId;
+        }
+
+        public void setCardId(Long cardId) {
+            this.cardId = cardId;
+        }
+
+        public Long getListId() {
+            return listId;
+        }
+
+        public void setListId(Long listId) {
+            this.listId = listId;
+        }
+
+        public Long getAssignedUserId() {
+            return assignedUserId;
+        }
+
+        public void setAssignedUserId(Long assignedUserId) {
+            this.assignedUserId = assignedUserId;
+        }
+
+        public LocalDateTime getDueDate() {
+            return dueDate;
+        }
+
+        public void setDueDate(LocalDateTime dueDate) {
+            this.dueDate = dueDate;
+        }
+    }
+}
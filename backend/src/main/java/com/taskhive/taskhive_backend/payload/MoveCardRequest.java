@@ -0,0 +1,34 @@
+package com.taskhive.taskhive_backend.payload;
+
+// Target list (null = stay in the current list) and the neighbours at the drop position;
+// with no neighbours the card goes to the end of the list
+public class MoveCardRequest {
+    private Long listId;
+    private Long afterCardId;
+    private Long beforeCardId;
+
+    // Getters and Setters
+    public Long getListId() {
+        return listId;
+    }
+
+    public void setListId(Long listId) {
+        this.listId = listId;
+    }
+
+    public Long getAfterCardId() {
+        return afterCardId;
+    }
+
+    public void setAfterCardId(Long afterCardId) {
+        this.afterCardId = afterCardId;
+    }
+
+    public Long getBeforeCardId() {
+        return beforeCardId;
+    }
+
+    public void setBeforeCardId(Long beforeCardId) {
+        this.beforeCardId = beforeCardId;
+    }
+}
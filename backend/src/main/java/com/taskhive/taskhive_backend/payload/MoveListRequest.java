@@ -0,0 +1,34 @@
+package com.taskhive.taskhive_backend.payload;
+
+// Target board (null = stay on the current board) and the neighbours at the drop position;
+// with no neighbours the list goes to the end of the board
+public class MoveListRequest {
+    private Long boardId;
+    private Long afterListId;
+    private Long beforeListId;
+
+    // Getters and Setters
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(Long boardId) {
+        this.boardId = boardId;
+    }
+
+    public Long getAfterListId() {
+        return afterListId;
+    }
+
+    public void setAfterListId(Long afterListId) {
+        this.afterListId = afterListId;
+    }
+
+    public Long getBeforeListId() {
+        return beforeListId;
+    }
+
+    public void setBeforeListId(Long beforeListId) {
+        this.beforeListId = beforeListId;
+    }
+}
@@ -3,5 +3,6 @@ package com.taskhive.taskhive_backend.repository;
 import com.taskhive.taskhive_backend.model.ActivityLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+// Reads go through ActivityLogService#findLogs, which builds the filtered keyset query
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
 }
@@ -0,0 +1,19 @@
+package com.taskhive.taskhive_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.taskhive.taskhive_backend.model.BoardChange;
+
+public interface BoardChangeRepository extends JpaRepository<BoardChange, Long> {
+
+    List<BoardChange> findByBoardIdAndSeqGreaterThanOrderBySeq(Long boardId, long seq, Limit limit);
+
+    // Oldest sequence still retained; changes at or below (min - 1) have been compacted away
+    @Query("select min(c.seq) from BoardChange c where c.boardId = :boardId")
+    Long findMinSeq(@Param("boardId") Long boardId);
+}
@@ -1,13 +1,36 @@
 package com.taskhive.taskhive_backend.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.taskhive.taskhive_backend.dto.BoardSummary;
 import com.taskhive.taskhive_backend.model.Board;
 import com.taskhive.taskhive_backend.model.Workspace;
 
 public interface BoardRepository extends JpaRepository<Board, Long> {
     List<Board> findByWorkspace(Workspace workspace);
+
+    @Query("select b.workspace.id from Board b where b.id = :boardId")
+    Optional<Long> findWorkspaceIdById(@Param("boardId") Long boardId);
+
+    @Query("select new com.taskhive.taskhive_backend.dto.BoardSummary(b.id, b.title, b.workspace.id) "
+            + "from Board b where b.id = :boardId")
+    Optional<BoardSummary> findSummaryById(@Param("boardId") Long boardId);
+
+    @Query("select new com.taskhive.taskhive_backend.dto.BoardSummary(b.id, b.title, b.workspace.id) "
+            + "from Board b where b.workspace.id = :workspaceId and b.id > :afterId order by b.id")
+    List<BoardSummary> findSummariesByWorkspaceId(@Param("workspaceId") Long workspaceId,
+                                                  @Param("afterId") Long afterId,
+                                                  Limit limit);
+
+    @Query("select b.changeSeq from Board b where b.id = :boardId")
+    Optional<Long> findChangeSeqById(@Param("boardId") Long boardId);
+
+    boolean existsByWorkspaceIdAndTitleIgnoreCase(Long workspaceId, String title);
 }
 // This interface extends JpaRepository to provide CRUD operations for Board entities.
\ No newline at end of file
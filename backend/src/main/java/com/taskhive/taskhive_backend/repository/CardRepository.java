@@ -1,16 +1,81 @@
 package com.taskhive.taskhive_backend.repository;
 
+import com.taskhive.taskhive_backend.dto.CardLocation;
+import com.taskhive.taskhive_backend.dto.CardSummary;
+import com.taskhive.taskhive_backend.dto.CardView;
 import com.taskhive.taskhive_backend.model.Card;
 import com.taskhive.taskhive_backend.model.TaskList;
+import com.taskhive.taskhive_backend.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> findByList(TaskList list);
+    List<Card> findByListId(Long listId);
     List<Card> findByDueDateBeforeAndReminderSentFalseAndAssignedUserIsNotNull(LocalDateTime dueDateThreshold);
     List<Card> findByDueDateBetweenAndReminderSentFalse(LocalDateTime start, LocalDateTime end);
 
+    @Query("select new com.taskhive.taskhive_backend.dto.CardLocation(c.id, c.title, l.id, b.id, b.workspace.id) "
+            + "from Card c join c.list l join l.board b where c.id in :cardIds")
+    List<CardLocation> findLocationsByIdIn(@Param("cardIds") Collection<Long> cardIds);
+
+    // Set-based updates for bulk operations; they bypass entity listeners, so callers publish board changes
+    @Modifying
+    @Query("update Card c set c.archived = :archived where c.id in :cardIds")
+    int updateArchived(@Param("cardIds") Collection<Long> cardIds, @Param("archived") boolean archived);
+
+    @Modifying
+    @Query("update Card c set c.assignedUser = :assignee where c.id in :cardIds")
+    int updateAssignee(@Param("cardIds") Collection<Long> cardIds, @Param("assignee") User assignee);
+
+    @Modifying
+    @Query("update Card c set c.assignedUser = null where c.id in :cardIds")
+    int clearAssignee(@Param("cardIds") Collection<Long> cardIds);
+
+    @Modifying
+    @Query("update Card c set c.dueDate = :dueDate, c.reminderSent = false where c.id in :cardIds")
+    int updateDueDate(@Param("cardIds") Collection<Long> cardIds, @Param("dueDate") LocalDateTime dueDate);
+
+    @Query("select c.id from Card c where c.list.id = :listId")
+    List<Long> findIdsByListId(@Param("listId") Long listId);
+
+    @Query("select c.list.board.workspace.id from Card c where c.id = :cardId")
+    Optional<Long> findWorkspaceIdById(@Param("cardId") Long cardId);
+
+    // Keyset over (rank_key, id), a range scan of idx_card_list_rank; ("", 0) is before every card
+    @Query("select new com.taskhive.taskhive_backend.dto.CardView(c.id, c.title, c.description, c.dueDate, "
+            + "c.reminderSent, c.rankKey, c.assignedUser.id) "
+            + "from Card c where c.list.id = :listId and c.archived = false "
+            + "and (c.rankKey, c.id) > (:afterRank, :afterId) "
+            + "order by c.rankKey, c.id")
+    List<CardView> findViewsByListId(@Param("listId") Long listId,
+                                     @Param("afterRank") String afterRank,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
+    // Counts are correlated subqueries on the card_id indexes, so no comment/attachment rows are loaded
+    @Query("select new com.taskhive.taskhive_backend.dto.CardSummary(c.id, c.list.id, c.rankKey, c.title, c.dueDate, "
+            + "c.assignedUser.id, "
+            + "(select count(cm) from Comment cm where cm.card = c), "
+            + "(select count(a) from Attachment a where a.card = c)) "
+            + "from Card c where c.list.board.id = :boardId and c.archived = false "
+            + "order by c.list.id, c.rankKey, c.id")
+    List<CardSummary> findSummariesByBoardId(@Param("boardId") Long boardId);
+
+    @Query("select new com.taskhive.taskhive_backend.dto.CardSummary(c.id, c.list.id, c.rankKey, c.title, c.dueDate, "
+            + "c.assignedUser.id, "
+            + "(select count(cm) from Comment cm where cm.card = c), "
+            + "(select count(a) from Attachment a where a.card = c)) "
+            + "from Card c where c.list.board.id = :boardId and c.archived = false and c.id in :cardIds")
+    List<CardSummary> findSummariesByBoardIdAndIdIn(@Param("boardId") Long boardId,
+                                                    @Param("cardIds") Collection<Long> cardIds);
 
 }
@@ -1,14 +1,31 @@
 package com.taskhive.taskhive_backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.taskhive.taskhive_backend.dto.CommentView;
 import com.taskhive.taskhive_backend.model.Card;
 import com.taskhive.taskhive_backend.model.Comment;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByCard(Card card);
       List<Comment> findByCardIdOrderByCreatedAtAsc(Long cardId);
-}
 
+    @Query("select new com.taskhive.taskhive_backend.dto.CommentView(cm.id, cm.content, cm.createdAt, u.id, u.username) "
+            + "from Comment cm join cm.user u where cm.card.id = :cardId order by cm.createdAt, cm.id")
+    List<CommentView> findViewsByCardId(@Param("cardId") Long cardId, Limit limit);
+
+    // Row-value comparison so (card_id, created_at, id) can be range-scanned from the cursor
+    @Query("select new com.taskhive.taskhive_backend.dto.CommentView(cm.id, cm.content, cm.createdAt, u.id, u.username) "
+            + "from Comment cm join cm.user u where cm.card.id = :cardId "
+            + "and (cm.createdAt, cm.id) > (:afterCreatedAt, :afterId) order by cm.createdAt, cm.id")
+    List<CommentView> findViewsByCardIdAfter(@Param("cardId") Long cardId,
+                                             @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                             @Param("afterId") Long afterId,
+                                             Limit limit);
+}
@@ -0,0 +1,27 @@
+package com.taskhive.taskhive_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskhive.taskhive_backend.model.OtpCode;
+
+import jakarta.persistence.LockModeType;
+
+public interface OtpCodeRepository extends JpaRepository<OtpCode, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from OtpCode o where o.email = :email")
+    Optional<OtpCode> findForUpdate(@Param("email") String email);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OtpCode o where o.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
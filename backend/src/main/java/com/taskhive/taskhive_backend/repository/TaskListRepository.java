@@ -1,12 +1,36 @@
 package com.taskhive.taskhive_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.taskhive.taskhive_backend.dto.ListLocation;
+import com.taskhive.taskhive_backend.dto.ListSummary;
 import com.taskhive.taskhive_backend.model.Board;
 import com.taskhive.taskhive_backend.model.TaskList;
 
 public interface TaskListRepository extends JpaRepository<TaskList, Long> {
     List<TaskList> findByBoard(Board board);
+    List<TaskList> findByBoardId(Long boardId);
+
+    @Query("select new com.taskhive.taskhive_backend.dto.ListLocation(l.id, l.title, b.id, b.workspace.id) "
+            + "from TaskList l join l.board b where l.id in :listIds")
+    List<ListLocation> findLocationsByIdIn(@Param("listIds") Collection<Long> listIds);
+
+    @Query("select l.board.workspace.id from TaskList l where l.id = :listId")
+    Optional<Long> findWorkspaceIdById(@Param("listId") Long listId);
+
+    // Also the read model for GET /api/tasklists/board/{boardId}; served by idx_lists_board_rank
+    @Query("select new com.taskhive.taskhive_backend.dto.ListSummary(l.id, l.title, l.rankKey) "
+            + "from TaskList l where l.board.id = :boardId order by l.rankKey, l.id")
+    List<ListSummary> findSummariesByBoardId(@Param("boardId") Long boardId);
+
+    @Query("select new com.taskhive.taskhive_backend.dto.ListSummary(l.id, l.title, l.rankKey) "
+            + "from TaskList l where l.board.id = :boardId and l.id in :listIds")
+    List<ListSummary> findSummariesByBoardIdAndIdIn(@Param("boardId") Long boardId,
+                                                    @Param("listIds") Collection<Long> listIds);
 }
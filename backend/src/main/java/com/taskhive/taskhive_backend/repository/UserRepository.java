@@ -1,9 +1,15 @@
 package com.taskhive.taskhive_backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.taskhive.taskhive_backend.model.User;
 
@@ -11,4 +17,13 @@ import com.taskhive.taskhive_backend.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.membershipVersion = u.membershipVersion + 1 where u.id in :userIds")
+    int incrementMembershipVersion(@Param("userIds") Collection<Long> userIds);
+
+    // Rows of (id, membershipVersion)
+    @Query("select u.id, u.membershipVersion from User u where u.id in :userIds")
+    List<Object[]> findMembershipVersions(@Param("userIds") Collection<Long> userIds);
 }
@@ -3,6 +3,8 @@ package com.taskhive.taskhive_backend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.model.Workspace;
@@ -10,4 +12,8 @@ import com.taskhive.taskhive_backend.model.Workspace;
 public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
     List<Workspace> findByOwner(User owner);
     List<Workspace> findByUsersContaining(User user); // Collaborator or owner
+
+    // Index-only lookup on workspace_users, no Workspace or User entities loaded
+    @Query("select w.id from Workspace w join w.users u where u.id = :userId")
+    List<Long> findIdsByMemberId(@Param("userId") Long userId);
 }
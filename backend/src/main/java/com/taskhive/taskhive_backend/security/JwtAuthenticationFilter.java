@@ -2,17 +2,19 @@ package com.taskhive.taskhive_backend.security;
 
 import java.io.IOException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.taskhive.taskhive_backend.service.JwtService;
 import com.taskhive.taskhive_backend.service.UserService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,12 +23,18 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Not "logger": that would hide GenericFilterBean's commons-logging field
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtService jwtService;
     private final UserService userService;
+    private final TokenRevocationService revocationService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserService userService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService,
+                                   TokenRevocationService revocationService) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -55,36 +63,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String token = authHeader.substring(7);
         String email;
+        Claims claims;
 
         try {
-            email = jwtService.extractUsername(token);
+            // Single parse: signature and expiry are verified here (or served from the
+            // verified-token cache), so the returned claims can be trusted as-is
+            claims = jwtService.validateToken(token);
+            email = claims.getSubject();
             System.out.println("Extracted email from token: " + email);
         } catch (Exception e) {
-            System.err.println("Failed to extract username from token: " + e.getMessage());
+            System.err.println("Failed to validate token: " + e.getMessage());
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
             return;
         }
 
+        // Checked on every request, cached claims included; a Bloom filter miss costs no lookup
+        if (revocationService.isRevoked(claims.getId())) {
+            log.debug("Rejected revoked token {}", claims.getId());
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been revoked");
+            return;
+        }
+
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
                 UserDetails userDetails = userService.loadUserByUsername(email);
                 System.out.println("Loaded user details for: " + email);
 
-                if (jwtService.isTokenValid(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities());
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    System.out.println("Authentication set successfully for user: " + email);
-                } else {
-                    System.err.println("Token validation failed for user: " + email);
-                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token signature");
-                    return;
+                // Workspace claims are only honoured while the user's membership version matches
+                long[] workspaceIds = null;
+                if (userDetails instanceof CustomUserDetails customUserDetails) {
+                    workspaceIds = jwtService.extractWorkspaceIds(claims,
+                            customUserDetails.getUser().getMembershipVersion());
                 }
+
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities());
+
+                authToken.setDetails(new TokenAuthenticationDetails(request, workspaceIds));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                System.out.println("Authentication set successfully for user: " + email);
             } catch (Exception e) {
                 System.err.println("Failed to load user details for: " + email + ", Error: " + e.getMessage());
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not found");
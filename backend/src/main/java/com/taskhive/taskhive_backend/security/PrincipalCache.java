@@ -0,0 +1,50 @@
+package com.taskhive.taskhive_backend.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Authenticated principals keyed by email, so the JWT filter does not hit the users table
+ * on every request. Entries are bounded by size and TTL and are dropped explicitly whenever
+ * the underlying user row changes (see {@link PrincipalCacheInvalidationListener}).
+ * Hit/miss counts are published as the {@code cache.gets{cache=principals}} metric.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, CustomUserDetails> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-entries:10000}") long maxEntries,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public CustomUserDetails get(String email, Function<String, CustomUserDetails> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
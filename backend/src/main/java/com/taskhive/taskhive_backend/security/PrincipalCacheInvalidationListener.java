@@ -0,0 +1,42 @@
+package com.taskhive.taskhive_backend.security;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskhive.taskhive_backend.model.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on {@link User} that drops the cached principal whenever the row is updated
+ * (OTP verification, password change, ...) or deleted. The entry is dropped after the
+ * transaction commits. Dropping it earlier would let a concurrent load put the old row back.
+ * Instantiated by Hibernate through Spring's bean container, so the cache is injected.
+ */
+@Component
+public class PrincipalCacheInvalidationListener {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheInvalidationListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String email = user.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(email);
+                }
+            });
+        } else {
+            principalCache.invalidate(email);
+        }
+    }
+}
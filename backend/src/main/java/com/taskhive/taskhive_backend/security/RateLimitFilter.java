@@ -0,0 +1,139 @@
+package com.taskhive.taskhive_backend.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskhive.taskhive_backend.config.RateLimitProperties;
+import com.taskhive.taskhive_backend.service.JwtService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-user (or per-IP) token-bucket throttling, placed ahead of JWT authentication so that
+ * floods of bad tokens are throttled too. The user is taken from the bearer token when its
+ * signature verifies (JwtService caches verified tokens); any other request is keyed by
+ * client IP. Behind a reverse proxy the IP comes from X-Forwarded-For, which Tomcat only
+ * trusts from server.tomcat.remoteip.internal-proxies. Budgets come from
+ * {@link RateLimitProperties}; buckets live in a bounded map with idle eviction. Every
+ * response carries RateLimit-* headers, and rejections get 429 with Retry-After and are
+ * counted in {@code taskhive.ratelimit.rejected{route=...}}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimitProperties properties;
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, JwtService jwtService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(Duration.ofSeconds(properties.getIdleSeconds()))
+                .build();
+        Gauge.builder("taskhive.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Active rate-limit buckets")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitProperties.Route route = resolveRoute(request.getServletPath());
+        String routeName = route != null ? route.getPattern() : DEFAULT_ROUTE;
+        int capacity = route != null ? route.getCapacity() : properties.getDefaultCapacity();
+        double refillPerSecond = route != null ? route.getRefillPerSecond() : properties.getDefaultRefillPerSecond();
+        boolean perIp = route != null && route.isPerIp();
+
+        String key = routeName + '|' + clientKey(request, perIp);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerSecond, now));
+        TokenBucket.Decision decision = bucket.tryConsume(now);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.resetNanos())));
+
+        if (!decision.allowed()) {
+            Counter.builder("taskhive.ratelimit.rejected")
+                    .tag("route", routeName)
+                    .register(meterRegistry)
+                    .increment();
+            response.setHeader("Retry-After", String.valueOf(toSeconds(decision.retryAfterNanos())));
+            response.sendError(429, "Too many requests, please slow down");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimitProperties.Route resolveRoute(String path) {
+        List<RateLimitProperties.Route> routes = properties.getRoutes();
+        for (RateLimitProperties.Route route : routes) {
+            if (pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, boolean perIp) {
+        if (!perIp) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && authentication.getPrincipal() instanceof CustomUserDetails principal) {
+                return "user:" + principal.getUsername();
+            }
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                try {
+                    String subject = jwtService.validateToken(authHeader.substring(7)).getSubject();
+                    if (subject != null) {
+                        return "user:" + subject;
+                    }
+                } catch (Exception e) {
+                    // Invalid or expired: the JWT filter rejects it; meanwhile it counts against the IP
+                }
+            }
+        }
+        // Tomcat's RemoteIpValve has already resolved the client behind trusted proxies
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Header values are whole seconds, rounded up so clients never retry too early
+    private static long toSeconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
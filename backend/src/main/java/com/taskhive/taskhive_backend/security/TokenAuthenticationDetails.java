@@ -0,0 +1,25 @@
+package com.taskhive.taskhive_backend.security;
+
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Request details plus the workspace IDs carried by the access token. The IDs are only
+ * set when the token's membership version still matches the user's, so a non-null value
+ * can be trusted for membership checks without touching the database.
+ */
+public class TokenAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final long[] workspaceIds;
+
+    public TokenAuthenticationDetails(HttpServletRequest request, long[] workspaceIds) {
+        super(request);
+        this.workspaceIds = workspaceIds;
+    }
+
+    // Sorted ascending, or null when the token carries no (or stale) workspace claims
+    public long[] getWorkspaceIds() {
+        return workspaceIds;
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskhive.taskhive_backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA: the whole bucket state is one "theoretical
+ * arrival time", advanced by one emission interval per request with a CAS. Behaves exactly
+ * like a bucket of {@code capacity} tokens refilled at {@code refillPerSecond}.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    Decision tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + emissionIntervalNanos;
+            long allowAt = next - burstNanos;
+            if (allowAt - nowNanos > 0) {
+                return new Decision(false, capacity, 0, allowAt - nowNanos, current - nowNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                int remaining = (int) ((burstNanos - (next - nowNanos)) / emissionIntervalNanos);
+                return new Decision(true, capacity, remaining, 0, next - nowNanos);
+            }
+        }
+    }
+
+    record Decision(boolean allowed, int limit, int remaining, long retryAfterNanos, long resetNanos) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskhive.taskhive_backend.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.taskhive.taskhive_backend.model.RevokedToken;
+import com.taskhive.taskhive_backend.repository.RevokedTokenRepository;
+
+/**
+ * Access-token denylist. Revoked token IDs (jti) are persisted in revoked_tokens and
+ * mirrored into an in-memory Bloom filter, so the common case of a token that was never
+ * revoked is answered by the filter alone. Only filter hits go to the database.
+ * <p>
+ * The filter is rebuilt periodically from the table, after expired entries are purged.
+ * That keeps it small, and picks up revocations made on other nodes within one interval.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private volatile BloomFilter filter = BloomFilter.create(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    // Filter being rebuilt, if any; revocations are written to it as well so none are lost in the swap
+    private volatile BloomFilter building;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, expiry));
+        BloomFilter target = filter;
+        target.put(jti);
+        BloomFilter inProgress = building;
+        if (inProgress != null) {
+            inProgress.put(jti);
+        }
+        // A rebuild that read the table before the save may have swapped its filter in since;
+        // rebuilds that start after the save read the jti from the table themselves
+        BloomFilter current = filter;
+        if (current != target) {
+            current.put(jti);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:300000}",
+               initialDelayString = "${jwt.revocation.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+
+        // Headroom so revocations until the next rebuild keep the false-positive rate low
+        long capacity = Math.max(MIN_CAPACITY, revokedTokenRepository.count() * 2);
+        BloomFilter rebuilt = BloomFilter.create(capacity, FALSE_POSITIVE_RATE);
+        building = rebuilt;
+        revokedTokenRepository.findAllJtis().forEach(rebuilt::put);
+        filter = rebuilt;
+        building = null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskhive.taskhive_backend.security;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Compact token encoding for a set of workspace IDs: the IDs are sorted, delta-encoded,
+ * written as unsigned LEB128 varints and base64url'd. Typical memberships (a handful of
+ * nearby IDs) take one or two bytes per workspace.
+ */
+public final class WorkspaceIdCodec {
+
+    private WorkspaceIdCodec() {
+    }
+
+    public static String encode(long[] workspaceIds) {
+        long[] sorted = workspaceIds.clone();
+        Arrays.sort(sorted);
+
+        byte[] buffer = new byte[sorted.length * 10];
+        int length = 0;
+        long previous = 0;
+        for (long id : sorted) {
+            if (id < previous) {
+                throw new IllegalArgumentException("Workspace IDs must be non-negative: " + id);
+            }
+            long delta = id - previous;
+            previous = id;
+            while ((delta & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            buffer[length++] = (byte) delta;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer, length));
+    }
+
+    /** Returns the IDs in ascending order, ready for {@link Arrays#binarySearch(long[], long)}. */
+    public static long[] decode(String encoded) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        long[] ids = new long[bytes.length];
+        int count = 0;
+        long previous = 0;
+        long delta = 0;
+        int shift = 0;
+        for (byte b : bytes) {
+            delta |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                previous += delta;
+                ids[count++] = previous;
+                delta = 0;
+                shift = 0;
+            } else {
+                shift += 7;
+                if (shift > 63) {
+                    throw new IllegalArgumentException("Malformed workspace claim");
+                }
+            }
+        }
+        if (shift != 0) {
+            throw new IllegalArgumentException("Truncated workspace claim");
+        }
+        return Arrays.copyOf(ids, count);
+    }
+}
@@ -0,0 +1,410 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityEvent;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
+import com.taskhive.taskhive_backend.util.MappedJournal;
+import com.taskhive.taskhive_backend.util.PageCursor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Activity sink backed by a local append-only journal (activity.sink=journal), for a single
+ * machine and no broker.
+ *
+ * <p>Callers append a compact binary record to a {@link MappedJournal} in
+ * activity.journal.dir, which is a memory copy under a short lock. A tailer thread reads
+ * batches of up to activity.journal.batch-size records and saves them through
+ * ActivityLogStore. The journal position it reached is stored in activity_journal_checkpoint
+ * in the same transaction, so each record is projected exactly once. On startup the tailer
+ * resumes from that checkpoint, which replays whatever was journaled but not yet saved.
+ * A batch the database rejects is projected again one record per transaction. Entries the
+ * database rejects on their own are appended to dead-letter.jsonl in the journal directory,
+ * so the checkpoint moves past them instead of retrying them forever.
+ * Projected segments are deleted. Pages are flushed to disk every
+ * activity.journal.fsync-interval-ms, which bounds what a machine crash can lose. Metrics:
+ * taskhive.activity.journal.lag (bytes not yet projected), taskhive.activity.flush.size,
+ * plus taskhive.activity.journal.failed and .skipped.
+ */
+@Service
+@ConditionalOnProperty(name = "activity.sink", havingValue = "journal")
+public class ActivityJournal implements ActivitySink, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityJournal.class);
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+
+    private static final String CHECKPOINT_DDL =
+            "create table if not exists activity_journal_checkpoint ("
+                    + "name varchar(64) primary key, position bigint not null)";
+
+    private static final String SAVE_CHECKPOINT_SQL =
+            "insert into activity_journal_checkpoint (name, position) values (?, ?) "
+                    + "on conflict (name) do update set position = excluded.position";
+
+    // Bits of the field mask; absent (null) fields are not written
+    private static final int USER = 1;
+    private static final int ACTION = 1 << 1;
+    private static final int TARGET_TYPE = 1 << 2;
+    private static final int TARGET_ID = 1 << 3;
+    private static final int WORKSPACE = 1 << 4;
+    private static final int BOARD = 1 << 5;
+    private static final int LIST = 1 << 6;
+    private static final int CARD = 1 << 7;
+    private static final int PAYLOAD = 1 << 8;
+    private static final int TEXT = 1 << 9;
+    private static final int LOCATION = 1 << 10;
+    private static final int TIMESTAMP = 1 << 11;
+    private static final int ANY_TARGET = TARGET_TYPE | TARGET_ID | WORKSPACE | BOARD | LIST | CARD;
+
+    private final ActivityLogStore activityLogStore;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String directory;
+    private final int segmentSize;
+    private final String name;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+    private final long fsyncIntervalNanos;
+    private final long shutdownTimeoutMillis;
+
+    private final DistributionSummary flushSize;
+    private final Counter failed;
+    private final Counter skipped;
+
+    private MappedJournal journal;
+    private Thread tailer;
+    private volatile long checkpoint;
+    private volatile boolean running = true;
+
+    public ActivityJournal(ActivityLogStore activityLogStore,
+                           ObjectMapper objectMapper,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${activity.journal.dir:${user.home}/.taskhive/activity-journal}") String directory,
+                           @Value("${activity.journal.segment-size-mb:64}") int segmentSizeMb,
+                           @Value("${activity.journal.name:default}") String name,
+                           @Value("${activity.journal.batch-size:500}") int batchSize,
+                           @Value("${activity.journal.poll-interval-ms:200}") long pollIntervalMillis,
+                           @Value("${activity.journal.fsync-interval-ms:1000}") long fsyncIntervalMillis,
+                           @Value("${activity.journal.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis) {
+        this.activityLogStore = activityLogStore;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.directory = directory;
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.name = name;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        this.flushSize = DistributionSummary.builder("taskhive.activity.flush.size").register(meterRegistry);
+        this.failed = Counter.builder("taskhive.activity.journal.failed").register(meterRegistry);
+        this.skipped = Counter.builder("taskhive.activity.journal.skipped").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        jdbcTemplate.execute(CHECKPOINT_DDL);
+        List<Long> saved = jdbcTemplate.queryForList(
+                "select position from activity_journal_checkpoint where name = ?", Long.class, name);
+        long position = saved.isEmpty() ? 0 : saved.get(0);
+
+        journal = new MappedJournal(Paths.get(directory), segmentSize, position);
+        if (position < journal.start()) {
+            logger.warn("Activity journal checkpoint {} is before the oldest segment; resuming at {}",
+                    position, journal.start());
+            position = journal.start();
+        }
+        checkpoint = position;
+        if (journal.end() > checkpoint) {
+            logger.info("Replaying {} bytes of activity journal from position {}", journal.end() - checkpoint, checkpoint);
+        }
+        Gauge.builder("taskhive.activity.journal.lag", this, sink -> sink.journal.end() - sink.checkpoint)
+                .register(meterRegistry);
+
+        tailer = new Thread(this::runTailer, "activity-journal-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    @Override
+    public void enqueue(ActivityEvent event) {
+        if (running) {
+            try {
+                journal.append(encode(event));
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Journaling an activity entry failed; writing it directly", e);
+            }
+        }
+        // Shutting down, or the journal is unusable: write through
+        try {
+            activityLogStore.save(List.of(event));
+        } catch (RuntimeException e) {
+            logger.warn("Writing an activity entry failed; it is lost", e);
+            failed.increment();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(tailer);
+        tailer.join(shutdownTimeoutMillis);
+        // Whatever the tailer did not reach stays journaled and is replayed at the next start
+        journal.close();
+    }
+
+    private void runTailer() {
+        long lastForce = System.nanoTime();
+        while (true) {
+            boolean stopping = !running;
+            if (stopping || System.nanoTime() - lastForce >= fsyncIntervalNanos) {
+                journal.force();
+                lastForce = System.nanoTime();
+            }
+            int projected;
+            try {
+                projected = projectNext();
+            } catch (RuntimeException e) {
+                logger.warn("Projecting the activity journal at {} failed; will retry", checkpoint, e);
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, pollIntervalNanos);
+                continue;
+            }
+            if (projected < batchSize) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    // Saves the next batch and advances the checkpoint; returns how many records were read
+    private int projectNext() {
+        MappedJournal.Batch batch;
+        try {
+            batch = journal.read(checkpoint, batchSize);
+        } catch (IllegalStateException e) {
+            long next = journal.skipSegment(checkpoint);
+            logger.error("Activity journal damaged at {}; skipping to {}", checkpoint, next, e);
+            skipped.increment();
+            saveCheckpoint(next);
+            return batchSize;
+        }
+        if (batch.records().isEmpty()) {
+            return 0;
+        }
+        List<ActivityEvent> events = new ArrayList<>(batch.records().size());
+        for (byte[] record : batch.records()) {
+            try {
+                events.add(decode(record));
+            } catch (IOException e) {
+                logger.error("Skipping an unreadable activity journal record", e);
+                skipped.increment();
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!events.isEmpty()) {
+                    activityLogStore.save(events);
+                }
+                jdbcTemplate.update(SAVE_CHECKPOINT_SQL, name, batch.next());
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Projecting {} activity journal records at {} failed; retrying them one by one",
+                    batch.records().size(), checkpoint, e);
+            projectEach(batch.next());
+            return batch.records().size();
+        }
+        checkpoint = batch.next();
+        flushSize.record(events.size());
+        deleteProjectedSegments();
+        return batch.records().size();
+    }
+
+    /*
+     * Projects the records before `until` one per transaction, each with its checkpoint.
+     * Entries the database rejects are dead-lettered and stepped over. Any other failure is
+     * thrown, and the next attempt resumes after the last record saved.
+     */
+    private void projectEach(long until) {
+        while (checkpoint < until) {
+            MappedJournal.Batch single = journal.read(checkpoint, 1);
+            if (single.records().isEmpty()) {
+                return;
+            }
+            ActivityEvent event;
+            try {
+                event = decode(single.records().get(0));
+            } catch (IOException e) {
+                logger.error("Skipping an unreadable activity journal record", e);
+                skipped.increment();
+                saveCheckpoint(single.next());
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    activityLogStore.save(List.of(event));
+                    jdbcTemplate.update(SAVE_CHECKPOINT_SQL, name, single.next());
+                });
+                checkpoint = single.next();
+                flushSize.record(1);
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Database rejected activity entry {}; moving it to {}", event, DEAD_LETTER_FILE, e);
+                deadLetter(event);
+                saveCheckpoint(single.next());
+            }
+        }
+        deleteProjectedSegments();
+    }
+
+    private void deadLetter(ActivityEvent event) {
+        failed.increment();
+        try {
+            Files.write(Paths.get(directory, DEAD_LETTER_FILE), List.of(objectMapper.writeValueAsString(event)),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Dead-lettering activity entry {} failed; it is lost", event, e);
+        }
+    }
+
+    private void saveCheckpoint(long position) {
+        jdbcTemplate.update(SAVE_CHECKPOINT_SQL, name, position);
+        checkpoint = position;
+        deleteProjectedSegments();
+    }
+
+    private void deleteProjectedSegments() {
+        try {
+            journal.deleteBefore(checkpoint);
+        } catch (IOException e) {
+            logger.warn("Deleting projected activity journal segments failed", e);
+        }
+    }
+
+    private static byte[] encode(ActivityEvent event) throws IOException {
+        ActivityTarget target = event.target();
+        int mask = (event.userId() != null ? USER : 0)
+                | (event.action() != null ? ACTION : 0)
+                | (event.payload() != null ? PAYLOAD : 0)
+                | (event.text() != null ? TEXT : 0)
+                | (event.location() != null ? LOCATION : 0)
+                | (event.timestamp() != null ? TIMESTAMP : 0);
+        if (target != null) {
+            mask |= (target.type() != null ? TARGET_TYPE : 0)
+                    | (target.id() != null ? TARGET_ID : 0)
+                    | (target.workspaceId() != null ? WORKSPACE : 0)
+                    | (target.boardId() != null ? BOARD : 0)
+                    | (target.listId() != null ? LIST : 0)
+                    | (target.cardId() != null ? CARD : 0);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        out.writeShort(mask);
+        if ((mask & USER) != 0) {
+            out.writeLong(event.userId());
+        }
+        if ((mask & ACTION) != 0) {
+            out.writeShort(event.action().code());
+        }
+        if ((mask & TARGET_TYPE) != 0) {
+            out.writeUTF(target.type());
+        }
+        if ((mask & TARGET_ID) != 0) {
+            out.writeLong(target.id());
+        }
+        if ((mask & WORKSPACE) != 0) {
+            out.writeLong(target.workspaceId());
+        }
+        if ((mask & BOARD) != 0) {
+            out.writeLong(target.boardId());
+        }
+        if ((mask & LIST) != 0) {
+            out.writeLong(target.listId());
+        }
+        if ((mask & CARD) != 0) {
+            out.writeLong(target.cardId());
+        }
+        if ((mask & PAYLOAD) != 0) {
+            out.writeUTF(event.payload());
+        }
+        if ((mask & TEXT) != 0) {
+            out.writeUTF(event.text());
+        }
+        if ((mask & LOCATION) != 0) {
+            out.writeUTF(event.location());
+        }
+        if ((mask & TIMESTAMP) != 0) {
+            out.writeLong(PageCursor.toMicros(event.timestamp()));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ActivityEvent decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        if (in.readByte() != FORMAT_VERSION) {
+            throw new IOException("Unknown activity journal record version");
+        }
+        int mask = in.readUnsignedShort();
+        Long userId = (mask & USER) != 0 ? in.readLong() : null;
+        ActivityAction action = (mask & ACTION) != 0 ? ActivityAction.fromCode(in.readShort()) : null;
+        String targetType = (mask & TARGET_TYPE) != 0 ? in.readUTF() : null;
+        Long targetId = (mask & TARGET_ID) != 0 ? in.readLong() : null;
+        Long workspaceId = (mask & WORKSPACE) != 0 ? in.readLong() : null;
+        Long boardId = (mask & BOARD) != 0 ? in.readLong() : null;
+        Long listId = (mask & LIST) != 0 ? in.readLong() : null;
+        Long cardId = (mask & CARD) != 0 ? in.readLong() : null;
+        String payload = (mask & PAYLOAD) != 0 ? in.readUTF() : null;
+        String text = (mask & TEXT) != 0 ? in.readUTF() : null;
+        String location = (mask & LOCATION) != 0 ? in.readUTF() : null;
+        return new ActivityEvent(userId, action,
+                (mask & ANY_TARGET) != 0
+                        ? new ActivityTarget(targetType, targetId, workspaceId, boardId, listId, cardId) : null,
+                payload, text, location,
+                (mask & TIMESTAMP) != 0 ? PageCursor.fromMicros(in.readLong()) : null);
+    }
+}
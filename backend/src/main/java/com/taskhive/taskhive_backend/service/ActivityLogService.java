@@ -1,33 +1,234 @@
 package com.taskhive.taskhive_backend.service;
 
-import com.taskhive.taskhive_backend.model.ActivityLog;
+import com.taskhive.taskhive_backend.dto.ActivityLogFilter;
+import com.taskhive.taskhive_backend.dto.ActivityLogView;
+import com.taskhive.taskhive_backend.dto.PageResponse;
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityEvent;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
 import com.taskhive.taskhive_backend.model.User;
-import com.taskhive.taskhive_backend.repository.ActivityLogRepository;
+import com.taskhive.taskhive_backend.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class ActivityLogService {
 
+    /** One activity entry of a batch; all entries of a batch share the user and timestamp. */
+    public record Entry(ActivityAction action, ActivityTarget target, String payload) {
+    }
+
+    // Projected, so the user graph is never loaded
+    private static final String SELECT_SQL =
+            "select a.id, a.action_code, a.action, a.target_type, a.target_id, a.\"timestamp\", a.location, "
+                    + "u.id as user_id, u.username, a.workspace_id, a.board_id, a.list_id, a.card_id, a.payload "
+                    + "from activity_log a left join users u on u.id = a.user_id where true";
+
+    private static final RowMapper<ActivityLogView> VIEW_MAPPER = (rs, rowNum) -> new ActivityLogView(
+            rs.getLong("id"),
+            rs.getObject("action_code", Short.class),
+            rs.getString("action"),
+            rs.getString("target_type"),
+            rs.getObject("target_id", Long.class),
+            rs.getObject("timestamp", LocalDateTime.class),
+            rs.getString("location"),
+            rs.getObject("user_id", Long.class),
+            rs.getString("username"),
+            rs.getObject("workspace_id", Long.class),
+            rs.getObject("board_id", Long.class),
+            rs.getObject("list_id", Long.class),
+            rs.getObject("card_id", Long.class),
+            rs.getString("payload"));
+
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivitySink activitySink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private ActivityRenderer activityRenderer;
+
+    @Autowired
+    private WorkspaceFeedService workspaceFeedService;
+
+    // ✅ Queued for the background writer as a code plus IDs; text is rendered when read
+    public void logActivity(User user, ActivityAction action, ActivityTarget target) {
+        logActivity(user, action, target, null);
+    }
+
+    // ✅ Same, with a short payload for what the IDs cannot recover later
+    public void logActivity(User user, ActivityAction action, ActivityTarget target, String payload) {
+        enqueue(List.of(new ActivityEvent(userId(user), action, target, payload, null, null, LocalDateTime.now())));
+    }
 
-    // ✅ Use User object directly instead of fetching by ID
+    // ✅ Free-text entry (POST /api/activity-logs/log); stored as given
     public void logActivity(User user, String action, String location) {
-        ActivityLog log = new ActivityLog();
-        log.setUser(user);
-        log.setAction(action);
-        log.setLocation(location);
-        log.setTimestamp(LocalDateTime.now());
+        enqueue(List.of(new ActivityEvent(userId(user), null, null, null, action, location, LocalDateTime.now())));
+    }
+
+    // ✅ Many entries at once, sharing one timestamp
+    public void logActivities(User user, List<Entry> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        enqueue(entries.stream()
+                .map(entry -> new ActivityEvent(userId(user), entry.action(), entry.target(), entry.payload(),
+                        null, null, now))
+                .toList());
+    }
+
+    /**
+     * Newest first, one keyset page at a time on (timestamp, id). Each filter is served by its
+     * own (column, timestamp, id) index. Without a workspace or board filter, only entries from
+     * the caller's workspaces and the caller's own entries are visible. Empty when a workspace
+     * or board filter names something the caller is not a member of.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or targetId comes without targetType
+     */
+    public Optional<PageResponse<ActivityLogView>> findLogs(Long userId, ActivityLogFilter filter,
+                                                            String cursor, int pageSize) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+
+        if (filter.workspaceId() != null) {
+            if (!membershipService.isMember(userId, filter.workspaceId())) {
+                return Optional.empty();
+            }
+            sql.append(" and a.workspace_id = ?");
+            args.add(filter.workspaceId());
+        }
+        if (filter.boardId() != null) {
+            if (!membershipService.isMemberOfBoard(userId, filter.boardId())) {
+                return Optional.empty();
+            }
+            sql.append(" and a.board_id = ?");
+            args.add(filter.boardId());
+        }
+        if (filter.cardId() != null) {
+            sql.append(" and a.card_id = ?");
+            args.add(filter.cardId());
+        }
+        if (filter.workspaceId() == null && filter.boardId() == null) {
+            long[] workspaceIds = membershipService.getWorkspaceIds(userId);
+            if (workspaceIds.length == 0) {
+                sql.append(" and a.user_id = ?");
+            } else {
+                sql.append(" and (a.workspace_id in (")
+                        .append(String.join(", ", Collections.nCopies(workspaceIds.length, "?")))
+                        .append(") or a.user_id = ?)");
+                for (long workspaceId : workspaceIds) {
+                    args.add(workspaceId);
+                }
+            }
+            args.add(userId);
+        }
+        if (filter.targetType() != null) {
+            sql.append(" and a.target_type = ?");
+            args.add(filter.targetType());
+            if (filter.targetId() != null) {
+                sql.append(" and a.target_id = ?");
+                args.add(filter.targetId());
+            }
+        } else if (filter.targetId() != null) {
+            throw new IllegalArgumentException("targetId requires targetType");
+        }
+        if (filter.actorId() != null) {
+            sql.append(" and a.user_id = ?");
+            args.add(filter.actorId());
+        }
+        if (filter.from() != null) {
+            sql.append(" and a.\"timestamp\" >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" and a.\"timestamp\" < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (cursor != null) {
+            long[] position = PageCursor.decode(cursor, 2);
+            sql.append(" and (a.\"timestamp\", a.id) < (?, ?)");
+            args.add(Timestamp.valueOf(PageCursor.fromMicros(position[0])));
+            args.add(position[1]);
+        }
+        sql.append(" order by a.\"timestamp\" desc, a.id desc limit ?");
+        args.add(pageSize + 1);
+
+        List<ActivityLogView> rows = activityRenderer.render(
+                jdbcTemplate.query(sql.toString(), VIEW_MAPPER, args.toArray()));
+        return Optional.of(PageResponse.of(rows, pageSize,
+                log -> PageCursor.encode(PageCursor.toMicros(log.timestamp()), log.id())));
+    }
+
+    /**
+     * Recent activity across every workspace the user belongs to, newest first, merged from
+     * the per-workspace feeds. Entries removed by retention since they were fanned out are skipped.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public PageResponse<ActivityLogView> getFeed(Long userId, String cursor, int pageSize) {
+        WorkspaceFeedService.FeedItem before = null;
+        if (cursor != null) {
+            long[] position = PageCursor.decode(cursor, 2);
+            before = new WorkspaceFeedService.FeedItem(position[1], PageCursor.fromMicros(position[0]));
+        }
+        List<WorkspaceFeedService.FeedItem> items = workspaceFeedService.newest(
+                membershipService.getWorkspaceIds(userId), before, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        List<WorkspaceFeedService.FeedItem> page = hasMore ? items.subList(0, pageSize) : items;
+        if (page.isEmpty()) {
+            return new PageResponse<>(List.of(), null);
+        }
+
+        Map<Long, ActivityLogView> byId = new HashMap<>();
+        String sql = SELECT_SQL + " and a.id in (" + String.join(", ", Collections.nCopies(page.size(), "?")) + ")";
+        jdbcTemplate.query(sql, VIEW_MAPPER, page.stream().map(WorkspaceFeedService.FeedItem::activityId).toArray())
+                .forEach(view -> byId.put(view.id(), view));
+        List<ActivityLogView> rows = new ArrayList<>(page.size());
+        for (WorkspaceFeedService.FeedItem item : page) {
+            ActivityLogView view = byId.get(item.activityId());
+            if (view != null) {
+                rows.add(view);
+            }
+        }
+        // The cursor follows the feed position, so skipped entries never stall paging
+        WorkspaceFeedService.FeedItem last = page.get(page.size() - 1);
+        return new PageResponse<>(activityRenderer.render(rows),
+                hasMore ? PageCursor.encode(PageCursor.toMicros(last.timestamp()), last.activityId()) : null);
+    }
 
-        activityLogRepository.save(log);
+    // Inside a transaction, entries are queued only once it commits, so a rolled-back
+    // change leaves no activity behind. Text is cut to the column length here, before the
+    // entry can reach a batch
+    private void enqueue(List<ActivityEvent> entries) {
+        List<ActivityEvent> events = entries.stream().map(ActivityEvent::truncated).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(activitySink::enqueue);
+                }
+            });
+        } else {
+            events.forEach(activitySink::enqueue);
+        }
     }
 
-    // ✅ Optional: retrieve all logs
-    public List<ActivityLog> getAllLogs() {
-        return activityLogRepository.findAll();
+    private static Long userId(User user) {
+        return user == null ? null : user.getId();
     }
 }
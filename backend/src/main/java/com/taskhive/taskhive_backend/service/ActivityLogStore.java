@@ -0,0 +1,87 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskhive.taskhive_backend.event.ActivityEvent;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
+import com.taskhive.taskhive_backend.model.ActivityLog;
+import com.taskhive.taskhive_backend.repository.ActivityLogRepository;
+import com.taskhive.taskhive_backend.repository.UserRepository;
+
+/**
+ * Saves batches of activity events for the activity sinks. A batch goes out as one JDBC
+ * batch, which the driver rewrites into multi-row INSERTs, together with the entries'
+ * workspace feed rows (see WorkspaceFeedService). Runs in the caller's transaction if there
+ * is one, else in its own.
+ */
+@Service
+public class ActivityLogStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogStore.class);
+
+    private final ActivityLogRepository activityLogRepository;
+    private final UserRepository userRepository;
+    private final WorkspaceFeedService workspaceFeedService;
+    private final TransactionTemplate transactionTemplate;
+
+    public ActivityLogStore(ActivityLogRepository activityLogRepository,
+                            UserRepository userRepository,
+                            WorkspaceFeedService workspaceFeedService,
+                            PlatformTransactionManager transactionManager) {
+        this.activityLogRepository = activityLogRepository;
+        this.userRepository = userRepository;
+        this.workspaceFeedService = workspaceFeedService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Flushed here rather than at commit, so a rejected row surfaces as a translated
+    // DataIntegrityViolationException from the repository
+    public void save(List<ActivityEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> workspaceFeedService.append(
+                activityLogRepository.saveAllAndFlush(events.stream().map(this::toEntity).toList())));
+    }
+
+    /**
+     * Saves one event, for retrying a failed batch row by row. Returns false if the database
+     * rejected the entry itself (a constraint or a value it cannot store), which retrying will
+     * not fix; any other failure is thrown.
+     */
+    public boolean saveOne(ActivityEvent event) {
+        try {
+            save(List.of(event));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Database rejected activity entry {}", event, e);
+            return false;
+        }
+    }
+
+    private ActivityLog toEntity(ActivityEvent event) {
+        ActivityLog log = new ActivityLog();
+        log.setUser(event.userId() == null ? null : userRepository.getReferenceById(event.userId()));
+        if (event.action() != null) {
+            log.setActionCode(event.action().code());
+        }
+        log.setAction(event.text());
+        log.setLocation(event.location());
+        log.setPayload(event.payload());
+        ActivityTarget target = event.target();
+        if (target != null) {
+            log.setTargetType(target.type());
+            log.setTargetId(target.id());
+            log.setWorkspaceId(target.workspaceId());
+            log.setBoardId(target.boardId());
+            log.setListId(target.listId());
+            log.setCardId(target.cardId());
+        }
+        log.setTimestamp(event.timestamp());
+        return log;
+    }
+}
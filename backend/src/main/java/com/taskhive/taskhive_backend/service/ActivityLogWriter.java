@@ -0,0 +1,348 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskhive.taskhive_backend.event.ActivityEvent;
+import com.taskhive.taskhive_backend.util.MpmcRingBuffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Writes activity-log entries off the request path; the default {@link ActivitySink}.
+ *
+ * <p>Callers enqueue immutable {@link ActivityEvent}s into a bounded lock-free ring buffer.
+ * One flusher thread drains the buffer and saves a batch once it reaches
+ * activity.writer.batch-size entries, or once the oldest entry has waited
+ * activity.writer.flush-interval-ms, through ActivityLogStore. When the buffer is full,
+ * activity.writer.overflow decides:
+ * <ul>
+ *   <li>{@code BLOCK} waits up to activity.writer.block-timeout-ms for room, then drops;</li>
+ *   <li>{@code DROP_OLDEST} discards the oldest queued entry;</li>
+ *   <li>{@code SPILL} appends the entry to a JSON-lines file in activity.writer.spill-dir.
+ *       The flusher replays that file when it is idle, and at the next start.</li>
+ * </ul>
+ * A batch the database rejects is retried one entry at a time. Entries the database rejects
+ * on their own, and spilled lines that no longer parse, go to a dead-letter file in the same
+ * directory instead of being retried. Spill file names carry the format version, so files
+ * written in another format are never replayed as this one.
+ * On shutdown the buffer is drained before the context closes. Metrics:
+ * taskhive.activity.queue.depth, taskhive.activity.flush.size,
+ * taskhive.activity.flush.latency, plus taskhive.activity.dropped, .spilled and .failed.
+ */
+@Service
+@ConditionalOnProperty(name = "activity.sink", havingValue = "writer", matchIfMissing = true)
+public class ActivityLogWriter implements ActivitySink, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final String SPILL_FORMAT = "v1";
+    private static final String SPILL_FILE = "activity-spill." + SPILL_FORMAT + ".jsonl";
+    private static final String REPLAY_PREFIX = "activity-spill." + SPILL_FORMAT + "-";
+    private static final String REPLAY_GLOB = REPLAY_PREFIX + "*.replay";
+    private static final String DEAD_LETTER_FILE = "activity-dead-letter.jsonl";
+
+    public enum OverflowPolicy {
+        BLOCK, DROP_OLDEST, SPILL
+    }
+
+    private final ActivityLogStore activityLogStore;
+    private final ObjectMapper objectMapper;
+    private final MpmcRingBuffer<ActivityEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutMillis;
+    private final Path spillDir;
+    private final Object spillLock = new Object();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final DistributionSummary flushSize;
+    private final Timer flushLatency;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+
+    public ActivityLogWriter(ActivityLogStore activityLogStore,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${activity.writer.capacity:8192}") int capacity,
+                             @Value("${activity.writer.batch-size:500}") int batchSize,
+                             @Value("${activity.writer.flush-interval-ms:200}") long flushIntervalMillis,
+                             @Value("${activity.writer.overflow:BLOCK}") OverflowPolicy overflowPolicy,
+                             @Value("${activity.writer.block-timeout-ms:1000}") long blockTimeoutMillis,
+                             @Value("${activity.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMillis,
+                             @Value("${activity.writer.spill-dir:${java.io.tmpdir}/taskhive-activity}") String spillDir) {
+        this.activityLogStore = activityLogStore;
+        this.objectMapper = objectMapper;
+        this.buffer = new MpmcRingBuffer<>(Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.spillDir = Paths.get(spillDir);
+
+        Gauge.builder("taskhive.activity.queue.depth", buffer, MpmcRingBuffer::size).register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("taskhive.activity.flush.size").register(meterRegistry);
+        this.flushLatency = Timer.builder("taskhive.activity.flush.latency").register(meterRegistry);
+        this.dropped = Counter.builder("taskhive.activity.dropped").register(meterRegistry);
+        this.spilled = Counter.builder("taskhive.activity.spilled").register(meterRegistry);
+        this.failed = Counter.builder("taskhive.activity.failed").register(meterRegistry);
+
+        this.flusher = new Thread(this::runFlusher, "activity-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public void enqueue(ActivityEvent event) {
+        if (!running) {
+            // Shutting down: nothing will drain the buffer any more, so write through
+            flush(List.of(event));
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (!buffer.offer(event)) {
+                    LockSupport.unpark(flusher);
+                    if (System.nanoTime() - deadline >= 0) {
+                        dropped.increment();
+                        return;
+                    }
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case SPILL -> {
+                if (!buffer.offer(event)) {
+                    spill(List.of(event));
+                    return;
+                }
+            }
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(shutdownTimeoutMillis);
+        // Anything enqueued between the flusher's last look and the flag flip
+        List<ActivityEvent> rest = new ArrayList<>();
+        buffer.drainTo(rest, Integer.MAX_VALUE);
+        if (!rest.isEmpty()) {
+            flush(rest);
+        }
+    }
+
+    private void runFlusher() {
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        long oldestNanos = 0;
+        while (true) {
+            boolean stopping = !running;
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) {
+                oldestNanos = System.nanoTime();
+            }
+            long waited = System.nanoTime() - oldestNanos;
+
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (stopping || waited >= flushIntervalNanos))) {
+                flush(batch);
+                batch.clear();
+            } else if (batch.isEmpty()) {
+                if (stopping) {
+                    return;
+                }
+                replaySpilled();
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else {
+                LockSupport.parkNanos(this, flushIntervalNanos - waited);
+            }
+        }
+    }
+
+    private void flush(List<ActivityEvent> events) {
+        long started = System.nanoTime();
+        try {
+            activityLogStore.save(events);
+            flushSize.record(events.size());
+        } catch (RuntimeException e) {
+            logger.warn("Writing {} activity entries failed; retrying them one by one", events.size(), e);
+            List<ActivityEvent> unsaved = events.subList(saveEach(events), events.size());
+            if (unsaved.isEmpty()) {
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.SPILL) {
+                spill(unsaved);
+            } else {
+                failed.increment(unsaved.size());
+            }
+        } finally {
+            flushLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /*
+     * Saves the entries one at a time, dead-lettering the ones the database rejects. Stops at
+     * the first other failure (the database is down, say) and returns how many entries it got
+     * through, so the caller can keep the rest without duplicating any.
+     */
+    private int saveEach(List<ActivityEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            ActivityEvent event = events.get(i);
+            try {
+                if (!activityLogStore.saveOne(event)) {
+                    deadLetter(List.of(toJson(event)));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Writing activity entries failed", e);
+                return i;
+            }
+        }
+        return events.size();
+    }
+
+    private void deadLetter(List<String> lines) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDir);
+                Files.write(spillDir.resolve(DEAD_LETTER_FILE), lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                logger.error("Dead-lettering {} activity entries failed; they are lost", lines.size(), e);
+            }
+        }
+        failed.increment(lines.size());
+    }
+
+    private String toJson(ActivityEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(event);
+        }
+    }
+
+    private void spill(List<ActivityEvent> events) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDir);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDir.resolve(SPILL_FILE),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (ActivityEvent event : events) {
+                        writer.write(objectMapper.writeValueAsString(event));
+                        writer.newLine();
+                    }
+                }
+                spilled.increment(events.size());
+            } catch (IOException e) {
+                logger.error("Spilling {} activity entries failed; they are lost", events.size(), e);
+                dropped.increment(events.size());
+            }
+        }
+    }
+
+    private void rewrite(Path file, List<ActivityEvent> events) throws IOException {
+        List<String> lines = new ArrayList<>(events.size());
+        for (ActivityEvent event : events) {
+            lines.add(objectMapper.writeValueAsString(event));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    // Runs on the flusher thread only; a file that fails to load is kept for the next attempt
+    private void replaySpilled() {
+        if (!Files.isDirectory(spillDir)) {
+            return;
+        }
+        try {
+            synchronized (spillLock) {
+                Path spillFile = spillDir.resolve(SPILL_FILE);
+                if (Files.exists(spillFile)) {
+                    Files.move(spillFile, spillDir.resolve(REPLAY_PREFIX + System.currentTimeMillis() + ".replay"),
+                            StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDir, REPLAY_GLOB)) {
+                for (Path file : files) {
+                    List<ActivityEvent> events = new ArrayList<>();
+                    List<String> unreadable = new ArrayList<>();
+                    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            events.add(objectMapper.readValue(line, ActivityEvent.class));
+                        } catch (JsonProcessingException e) {
+                            unreadable.add(line);
+                        }
+                    }
+                    if (!unreadable.isEmpty()) {
+                        logger.warn("Moving {} unreadable spilled activity entries from {} to {}",
+                                unreadable.size(), file, DEAD_LETTER_FILE);
+                        deadLetter(unreadable);
+                        rewrite(file, events);
+                    }
+                    for (int from = 0; from < events.size(); from += batchSize) {
+                        List<ActivityEvent> batch = events.subList(from, Math.min(from + batchSize, events.size()));
+                        try {
+                            activityLogStore.save(batch);
+                        } catch (RuntimeException e) {
+                            logger.warn("Replaying {} spilled activity entries failed; retrying them one by one",
+                                    batch.size(), e);
+                            int handled = saveEach(batch);
+                            if (handled < batch.size()) {
+                                // Keep only what is not saved yet, so a retry does not duplicate entries
+                                rewrite(file, events.subList(from + handled, events.size()));
+                                return;
+                            }
+                        }
+                    }
+                    Files.delete(file);
+                    logger.info("Replayed {} spilled activity entries from {}", events.size(), file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Replaying spilled activity entries failed; will retry", e);
+        }
+    }
+}
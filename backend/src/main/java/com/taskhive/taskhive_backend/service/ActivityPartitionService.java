@@ -0,0 +1,239 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps activity_log as a PostgreSQL table range-partitioned by month on its timestamp
+ * (opt-in: activity.partitioning.enabled).
+ *
+ * <p>At startup an existing plain table is converted once. The old table is renamed to
+ * activity_log_history, and the current month's rows move into a fresh partition. The old
+ * table then becomes the partition for everything before that month.
+ *
+ * <p>The daily job does three things:
+ * <ul>
+ *   <li>Creates partitions activity.partitioning.months-ahead months into the future.</li>
+ *   <li>Finds partitions that lie wholly before the longest retention of any workspace. It
+ *       rolls each one up into activity_daily_rollup and then detaches and drops it.</li>
+ *   <li>Handles rows that are older than their own workspace's retention
+ *       (Workspace.activityRetentionDays, else activity.retention.default-days) but sit in a
+ *       partition that is still kept. It rolls those rows up and deletes them in one statement.</li>
+ * </ul>
+ * Each step holds a transaction-scoped advisory lock, so only one instance runs it at a time.
+ */
+@Service
+@ConditionalOnProperty(name = "activity.partitioning.enabled", havingValue = "true")
+public class ActivityPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityPartitionService.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x7461736b6869L; // "taskhi"
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private static final String ROLLUP_DDL =
+            "create table if not exists activity_daily_rollup ("
+                    + "day date not null, workspace_id bigint, board_id bigint, user_id bigint, "
+                    + "action varchar(255), entry_count bigint not null)";
+
+    private static final String ROLLUP_ACTION_CODE_DDL =
+            "alter table activity_daily_rollup add column if not exists action_code smallint";
+
+    private static final String ROLLUP_INDEX_DDL =
+            "create index if not exists idx_activity_daily_rollup_workspace_day "
+                    + "on activity_daily_rollup (workspace_id, day)";
+
+    private static final String ROLLUP_COLUMNS =
+            "insert into activity_daily_rollup (day, workspace_id, board_id, user_id, action_code, action, entry_count) ";
+
+    private static final String ROLLUP_SELECT =
+            "select cast(\"timestamp\" as date), workspace_id, board_id, user_id, action_code, action, count(*) ";
+
+    private static final String ROLLUP_GROUP_BY =
+            " group by cast(\"timestamp\" as date), workspace_id, board_id, user_id, action_code, action";
+
+    // Rows past their own workspace's retention. The timestamp bound keeps the scan to the old
+    // partitions; the per-row cutoff then applies each workspace's setting
+    private static final String EXPIRE_ROWS_SQL =
+            "with expired as (delete from activity_log a where a.\"timestamp\" < ? "
+                    + "and a.\"timestamp\" < ? - make_interval(days => coalesce("
+                    + "(select w.activity_retention_days from workspace w where w.id = a.workspace_id), ?)) "
+                    + "returning a.\"timestamp\", a.workspace_id, a.board_id, a.user_id, a.action_code, a.action) "
+                    + ROLLUP_COLUMNS + ROLLUP_SELECT + "from expired" + ROLLUP_GROUP_BY;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int defaultRetentionDays;
+    private final boolean detachOnly;
+
+    public ActivityPartitionService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    EntityManagerFactory entityManagerFactory,
+                                    @Value("${activity.partitioning.months-ahead:3}") int monthsAhead,
+                                    @Value("${activity.retention.default-days:365}") int defaultRetentionDays,
+                                    @Value("${activity.partitioning.detach-only:false}") boolean detachOnly) {
+        // The EntityManagerFactory dependency makes this run after Hibernate's schema update
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.defaultRetentionDays = defaultRetentionDays;
+        this.detachOnly = detachOnly;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            jdbcTemplate.execute(ROLLUP_DDL);
+            jdbcTemplate.execute(ROLLUP_ACTION_CODE_DDL);
+            jdbcTemplate.execute(ROLLUP_INDEX_DDL);
+            if (!isPartitioned()) {
+                convert();
+            }
+        });
+        createFuturePartitions();
+    }
+
+    @Scheduled(cron = "${activity.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        createFuturePartitions();
+        dropExpiredPartitions();
+        expireRows();
+    }
+
+    private void createFuturePartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            YearMonth month = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth partition = month.plusMonths(i);
+                jdbcTemplate.execute("create table if not exists " + partitionName(partition)
+                        + " partition of activity_log for values from ('" + partition.atDay(1)
+                        + "') to ('" + partition.plusMonths(1).atDay(1) + "')");
+            }
+        });
+    }
+
+    private void dropExpiredPartitions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(longestRetentionDays());
+        for (Map<String, Object> partition : jdbcTemplate.queryForList(
+                "select c.relname as name, pg_get_expr(c.relpartbound, c.oid) as bound from pg_inherits i "
+                        + "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent "
+                        + "where p.relname = 'activity_log' and p.relnamespace = c.relnamespace")) {
+            String name = (String) partition.get("name");
+            Matcher upper = UPPER_BOUND.matcher((String) partition.get("bound"));
+            // Bounds render as 'yyyy-MM-dd HH:mm:ss'; keep anything that still holds retained rows
+            if (!upper.find() || LocalDateTime.parse(upper.group(1).replace(' ', 'T')).isAfter(cutoff)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                lock();
+                int groups = jdbcTemplate.update(ROLLUP_COLUMNS + ROLLUP_SELECT + "from " + name + ROLLUP_GROUP_BY);
+                jdbcTemplate.execute("alter table activity_log detach partition " + name);
+                if (!detachOnly) {
+                    jdbcTemplate.execute("drop table " + name);
+                }
+                logger.info("Rolled up {} into {} daily groups and {} it", name, groups,
+                        detachOnly ? "detached" : "dropped");
+            });
+        }
+    }
+
+    private void expireRows() {
+        Integer shortest = jdbcTemplate.queryForObject(
+                "select min(activity_retention_days) from workspace", Integer.class);
+        int shortestDays = shortest == null ? defaultRetentionDays : Math.min(shortest, defaultRetentionDays);
+        LocalDateTime now = LocalDateTime.now();
+        Integer groups = transactionTemplate.execute(status -> {
+            lock();
+            return jdbcTemplate.update(EXPIRE_ROWS_SQL, Timestamp.valueOf(now.minusDays(shortestDays)),
+                    Timestamp.valueOf(now), defaultRetentionDays);
+        });
+        if (groups != null && groups > 0) {
+            logger.info("Rolled up expired activity rows into {} daily groups", groups);
+        }
+    }
+
+    // One-off conversion of the plain table Hibernate created
+    private void convert() {
+        LocalDate currentMonth = YearMonth.now().atDay(1);
+        jdbcTemplate.execute("lock table activity_log in access exclusive mode");
+        jdbcTemplate.execute("alter table activity_log rename to activity_log_history");
+        // Index names are schema-wide; free them for the partitioned parent
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where tablename = 'activity_log_history' "
+                        + "and schemaname = current_schema()", String.class);
+        for (String index : indexes) {
+            jdbcTemplate.execute("alter index " + index + " rename to " + index + "_history");
+        }
+        jdbcTemplate.update("update activity_log_history set \"timestamp\" = 'epoch' where \"timestamp\" is null");
+        // The parent's primary key makes "timestamp" NOT NULL there, and an attached partition must match
+        jdbcTemplate.execute("alter table activity_log_history alter column \"timestamp\" set not null");
+
+        jdbcTemplate.execute("create table activity_log (like activity_log_history including defaults) "
+                + "partition by range (\"timestamp\")");
+        jdbcTemplate.execute("alter table activity_log add primary key (id, \"timestamp\")");
+        jdbcTemplate.execute("alter table activity_log add foreign key (user_id) references users (id)");
+        jdbcTemplate.execute("create index idx_activity_log_time on activity_log (\"timestamp\", id)");
+        jdbcTemplate.execute("create index idx_activity_log_user_time on activity_log (user_id, \"timestamp\", id)");
+        jdbcTemplate.execute("create index idx_activity_log_target_time "
+                + "on activity_log (target_type, target_id, \"timestamp\", id)");
+        jdbcTemplate.execute("create index idx_activity_log_workspace_time "
+                + "on activity_log (workspace_id, \"timestamp\", id)");
+        jdbcTemplate.execute("create index idx_activity_log_board_time on activity_log (board_id, \"timestamp\", id)");
+        jdbcTemplate.execute("create index idx_activity_log_card_time on activity_log (card_id, \"timestamp\", id)");
+
+        YearMonth month = YearMonth.from(currentMonth);
+        jdbcTemplate.execute("create table " + partitionName(month) + " partition of activity_log for values from ('"
+                + currentMonth + "') to ('" + month.plusMonths(1).atDay(1) + "')");
+        int moved = jdbcTemplate.update("with recent as (delete from activity_log_history "
+                + "where \"timestamp\" >= ? returning *) insert into activity_log select * from recent",
+                Timestamp.valueOf(currentMonth.atStartOfDay()));
+        jdbcTemplate.execute("alter table activity_log attach partition activity_log_history "
+                + "for values from (minvalue) to ('" + currentMonth + "')");
+        logger.info("Converted activity_log to monthly partitions ({} rows moved to the current month)", moved);
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_partitioned_table pt join pg_class c on c.oid = pt.partrelid "
+                        + "where c.relname = 'activity_log' and c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class));
+    }
+
+    private int longestRetentionDays() {
+        Integer longest = jdbcTemplate.queryForObject(
+                "select max(activity_retention_days) from workspace", Integer.class);
+        return longest == null ? defaultRetentionDays : Math.max(longest, defaultRetentionDays);
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForList("select pg_advisory_xact_lock(?)", ADVISORY_LOCK_KEY);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "activity_log_p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,166 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskhive.taskhive_backend.dto.ActivityLogView;
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.BoardChangeBatchEvent;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.WorkspaceChangedEvent;
+
+/**
+ * Turns coded activity rows into the label and location text clients display, e.g.
+ * "List: Doing → Card: Fix login". Names come from a cached dictionary of workspace, board,
+ * list and card titles. Cache misses for one page are loaded with one query per kind. Board
+ * and workspace changes evict the titles they touch. Rows written before action codes
+ * existed keep their stored text.
+ */
+@Service
+public class ActivityRenderer {
+
+    private static final String UNKNOWN = "(deleted)";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    private enum Kind {
+        WORKSPACE("select id, name from workspace where id in "),
+        BOARD("select id, title from boards where id in "),
+        LIST("select id, title from lists where id in "),
+        CARD("select id, title from card where id in ");
+
+        private final String sql;
+
+        Kind(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private record Name(Kind kind, long id) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Name, String> names;
+
+    public ActivityRenderer(JdbcTemplate jdbcTemplate,
+                            @Value("${activity.names.max-entries:50000}") long maxEntries,
+                            @Value("${activity.names.ttl-seconds:600}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public List<ActivityLogView> render(List<ActivityLogView> rows) {
+        Map<Name, String> resolved = resolve(rows);
+        List<ActivityLogView> rendered = new ArrayList<>(rows.size());
+        for (ActivityLogView row : rows) {
+            ActivityAction action = ActivityAction.fromCode(row.actionCode());
+            if (action == null) {
+                rendered.add(row);
+                continue;
+            }
+            // One pass, so a title that happens to contain "{card}" is left alone
+            Matcher placeholder = PLACEHOLDER.matcher(action.template());
+            StringBuilder location = new StringBuilder();
+            while (placeholder.find()) {
+                String value = switch (placeholder.group(1)) {
+                    case "workspace" -> name(resolved, Kind.WORKSPACE, row.workspaceId());
+                    case "board" -> name(resolved, Kind.BOARD, row.boardId());
+                    case "list" -> name(resolved, Kind.LIST, row.listId());
+                    case "card" -> name(resolved, Kind.CARD, row.cardId());
+                    default -> Objects.requireNonNullElse(row.payload(), UNKNOWN);
+                };
+                placeholder.appendReplacement(location, Matcher.quoteReplacement(value));
+            }
+            placeholder.appendTail(location);
+            rendered.add(new ActivityLogView(row.id(), row.actionCode(), action.label(), row.targetType(),
+                    row.targetId(), row.timestamp(), location.toString(), row.userId(), row.username(), row.workspaceId(),
+                    row.boardId(), row.listId(), row.cardId(), row.payload()));
+        }
+        return rendered;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        evict(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        batch.changes().forEach(this::evict);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkspaceChanged(WorkspaceChangedEvent event) {
+        names.invalidate(new Name(Kind.WORKSPACE, event.workspaceId()));
+    }
+
+    private void evict(BoardChangedEvent event) {
+        Kind kind = switch (event.entityType()) {
+            case BOARD -> Kind.BOARD;
+            case LIST -> Kind.LIST;
+            case CARD -> Kind.CARD;
+        };
+        names.invalidate(new Name(kind, event.entityId()));
+    }
+
+    private Map<Name, String> resolve(List<ActivityLogView> rows) {
+        Set<Name> wanted = new HashSet<>();
+        for (ActivityLogView row : rows) {
+            ActivityAction action = ActivityAction.fromCode(row.actionCode());
+            if (action == null) {
+                continue;
+            }
+            addIfUsed(wanted, action, "{workspace}", Kind.WORKSPACE, row.workspaceId());
+            addIfUsed(wanted, action, "{board}", Kind.BOARD, row.boardId());
+            addIfUsed(wanted, action, "{list}", Kind.LIST, row.listId());
+            addIfUsed(wanted, action, "{card}", Kind.CARD, row.cardId());
+        }
+        Map<Name, String> resolved = new HashMap<>(names.getAllPresent(wanted));
+
+        Map<Kind, List<Long>> missing = new HashMap<>();
+        for (Name name : wanted) {
+            if (!resolved.containsKey(name)) {
+                missing.computeIfAbsent(name.kind(), kind -> new ArrayList<>()).add(name.id());
+            }
+        }
+        missing.forEach((kind, ids) -> {
+            String sql = kind.sql + "(" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+            jdbcTemplate.query(sql, rs -> {
+                Name name = new Name(kind, rs.getLong(1));
+                String value = Objects.requireNonNullElse(rs.getString(2), "");
+                resolved.put(name, value);
+                names.put(name, value);
+            }, ids.toArray());
+        });
+        return resolved;
+    }
+
+    private static void addIfUsed(Set<Name> wanted, ActivityAction action, String placeholder, Kind kind, Long id) {
+        if (id != null && action.template().contains(placeholder)) {
+            wanted.add(new Name(kind, id));
+        }
+    }
+
+    private static String name(Map<Name, String> resolved, Kind kind, Long id) {
+        return id == null ? UNKNOWN : resolved.getOrDefault(new Name(kind, id), UNKNOWN);
+    }
+}
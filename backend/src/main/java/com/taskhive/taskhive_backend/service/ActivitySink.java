@@ -0,0 +1,15 @@
+package com.taskhive.taskhive_backend.service;
+
+import com.taskhive.taskhive_backend.event.ActivityEvent;
+
+/**
+ * Where ActivityLogService hands committed activity entries. activity.sink picks the
+ * implementation: {@code writer} (the default) is the in-memory ActivityLogWriter, and
+ * {@code journal} is the on-disk ActivityJournal. Both save through ActivityLogStore off the
+ * request path.
+ */
+public interface ActivitySink {
+
+    /** Accepts one entry; must not wait on the database. */
+    void enqueue(ActivityEvent event);
+}
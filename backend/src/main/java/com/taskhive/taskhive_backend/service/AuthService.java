@@ -1,8 +1,8 @@
 package com.taskhive.taskhive_backend.service;
 
-import java.time.LocalDateTime;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.Random;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,25 +15,29 @@ import jakarta.transaction.Transactional;
 @Service
 public class AuthService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Duration OTP_TTL = Duration.ofMinutes(5); // OTP valid for 5 mins
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private OtpStore otpStore;
+
     public String generateOtp() {
-        return String.valueOf(100000 + new Random().nextInt(900000));
+        return String.valueOf(100000 + RANDOM.nextInt(900000));
     }
 
-    @Transactional
     public void sendOtpToEmail(String email) {
-        Optional<User> optionalUser = userRepository.findByEmail(email);
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
+        if (userRepository.existsByEmail(email)) {
             String otp = generateOtp();
-            user.setOtp(otp);
-            user.setOtpExpiry(LocalDateTime.now().plusMinutes(5)); // OTP valid for 5 mins
-            userRepository.save(user);
+            otpStore.save(email, otp, OTP_TTL);
 
             String subject = "Your TaskHive OTP Code";
             String message = "Your OTP code is: " + otp + "\nIt expires in 5 minutes.";
@@ -45,20 +49,18 @@ public class AuthService {
 
     @Transactional
     public boolean verifyOtp(String email, String otp) {
+        if (otp == null || !otpStore.verify(email, otp)) {
+            return false;
+        }
+
         Optional<User> optionalUser = userRepository.findByEmail(email);
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
-            if (user.getOtp() != null &&
-                user.getOtpExpiry() != null &&
-                otp.equals(user.getOtp()) &&
-                LocalDateTime.now().isBefore(user.getOtpExpiry())) {
-
-                user.setVerified(true);
-                user.setOtp(null);
-                user.setOtpExpiry(null);
-                userRepository.save(user);
-                return true;
-            }
+            user.setVerified(true);
+            userRepository.save(user);
+            // Drop the cached principal now rather than waiting for the flush-time listener
+            userService.evictPrincipal(email);
+            return true;
         }
         return false;
     }
@@ -0,0 +1,269 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.taskhive.taskhive_backend.dto.BoardChanges;
+import com.taskhive.taskhive_backend.dto.BoardSummary;
+import com.taskhive.taskhive_backend.dto.CardSummary;
+import com.taskhive.taskhive_backend.dto.ListSummary;
+import com.taskhive.taskhive_backend.event.BoardChangeBatchEvent;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.BoardEntityType;
+import com.taskhive.taskhive_backend.model.BoardChange;
+import com.taskhive.taskhive_backend.repository.BoardChangeRepository;
+import com.taskhive.taskhive_backend.repository.BoardRepository;
+import com.taskhive.taskhive_backend.repository.CardRepository;
+import com.taskhive.taskhive_backend.repository.TaskListRepository;
+import com.taskhive.taskhive_backend.util.PageCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Per-board change log behind delta sync.
+ *
+ * <p>Every {@link BoardChangedEvent} appends a row in the writer's own transaction. The row's
+ * sequence comes from advancing boards.change_seq, which row-locks the board until commit, so
+ * a board's sequence numbers become visible strictly in order and a reader can never skip a
+ * change that commits late. Events are collected per transaction and written from a Hibernate
+ * before-completion process, which runs after the commit-time flush. By then every batched
+ * INSERT has executed, including that of a new board, and the flush has fired all its JPA
+ * callbacks. A Spring BEFORE_COMMIT hook would run before that flush.
+ */
+@Service
+public class BoardChangeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardChangeService.class);
+
+    private static final String ADVANCE_SQL =
+            "update boards set change_seq = change_seq + ? where id = ? returning change_seq";
+
+    private static final String INSERT_SQL =
+            "insert into board_changes (board_id, seq, entity_type, entity_id, deleted, changed_at) "
+                    + "values (?, ?, ?, ?, ?, ?)";
+
+    // Keeps the newest row per board, so its sequence is always known to be retained
+    private static final String COMPACT_SQL =
+            "delete from board_changes bc where bc.changed_at < ? "
+                    + "and bc.seq < (select max(m.seq) from board_changes m where m.board_id = bc.board_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BoardChangeRepository boardChangeRepository;
+    private final BoardRepository boardRepository;
+    private final TaskListRepository taskListRepository;
+    private final CardRepository cardRepository;
+    private final WorkspaceMembershipService membershipService;
+    private final Duration retention;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BoardChangeService(JdbcTemplate jdbcTemplate,
+                              BoardChangeRepository boardChangeRepository,
+                              BoardRepository boardRepository,
+                              TaskListRepository taskListRepository,
+                              CardRepository cardRepository,
+                              WorkspaceMembershipService membershipService,
+                              @Value("${board-changes.retention-hours:72}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.boardChangeRepository = boardChangeRepository;
+        this.boardRepository = boardRepository;
+        this.taskListRepository = taskListRepository;
+        this.cardRepository = cardRepository;
+        this.membershipService = membershipService;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    public static String cursorOf(Long boardId, long seq) {
+        return PageCursor.encode(boardId, seq);
+    }
+
+    @EventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        record(List.of(event));
+    }
+
+    @EventListener
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        record(batch.changes());
+    }
+
+    // Buffers the changes until the transaction's flush is done; outside one, writes them now
+    private void record(List<BoardChangedEvent> changes) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            append(changes);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<BoardChangedEvent> pending = (List<BoardChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<BoardChangedEvent> buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BoardChangeService.this);
+                }
+            });
+            entityManager.unwrap(SessionImplementor.class).getActionQueue()
+                    .registerProcess((BeforeTransactionCompletionProcess) session -> {
+                        List<BoardChangedEvent> buffered = new ArrayList<>(buffer);
+                        buffer.clear();
+                        append(buffered);
+                    });
+            pending = buffer;
+        }
+        pending.addAll(changes);
+    }
+
+    /**
+     * Records changes with one sequence reservation per board, locked in board id order so two
+     * transactions touching the same boards cannot deadlock, and a single batched insert.
+     */
+    private void append(List<BoardChangedEvent> changes) {
+        Map<Long, List<BoardChangedEvent>> byBoard = new TreeMap<>();
+        for (BoardChangedEvent event : changes) {
+            // A deleted board has no row left to sequence against; its log simply ages out
+            if (event.entityType() != BoardEntityType.BOARD || !event.deleted()) {
+                byBoard.computeIfAbsent(event.boardId(), id -> new ArrayList<>()).add(event);
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        byBoard.forEach((boardId, events) -> {
+            List<Long> last = jdbcTemplate.queryForList(ADVANCE_SQL, Long.class, events.size(), boardId);
+            if (last.isEmpty()) {
+                return; // board deleted meanwhile
+            }
+            long seq = last.get(0) - events.size();
+            for (BoardChangedEvent event : events) {
+                rows.add(new Object[] {boardId, ++seq, event.entityType().name(), event.entityId(),
+                        event.deleted(), now});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Changes after {@code cursor}, collapsed per entity. Empty when the board does not exist
+     * or the user is not a member of its workspace.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another board
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<BoardChanges> getChanges(Long boardId, Long userId, String cursor, int pageSize) {
+        Optional<Long> workspaceId = membershipService.findWorkspaceIdOfBoard(boardId);
+        if (workspaceId.isEmpty() || !membershipService.isMember(userId, workspaceId.get())) {
+            return Optional.empty();
+        }
+
+        long[] position = PageCursor.decode(cursor, 2);
+        if (position[0] != boardId) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        long since = position[1];
+
+        long current = boardRepository.findChangeSeqById(boardId).orElse(0L);
+        if (since > current) {
+            // Cursor from a different database (restore, re-seed): start over
+            return Optional.of(BoardChanges.resetRequired());
+        }
+        if (since < current) {
+            Long minSeq = boardChangeRepository.findMinSeq(boardId);
+            if (minSeq == null || since < minSeq - 1) {
+                return Optional.of(BoardChanges.resetRequired());
+            }
+        }
+
+        List<BoardChange> rows = boardChangeRepository.findByBoardIdAndSeqGreaterThanOrderBySeq(
+                boardId, since, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        long next = rows.isEmpty() ? since : rows.get(rows.size() - 1).getSeq();
+
+        // Latest change per entity wins
+        Map<BoardEntityType, Map<Long, Boolean>> latest = new LinkedHashMap<>();
+        for (BoardChange row : rows) {
+            latest.computeIfAbsent(row.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(row.getEntityId(), row.isDeleted());
+        }
+
+        BoardSummary board = null;
+        if (!upserted(latest, BoardEntityType.BOARD).isEmpty()) {
+            board = boardRepository.findSummaryById(boardId).orElse(null);
+        }
+
+        Set<Long> listIds = upserted(latest, BoardEntityType.LIST);
+        List<ListSummary> lists = listIds.isEmpty() ? List.of()
+                : taskListRepository.findSummariesByBoardIdAndIdIn(boardId, listIds);
+        List<Long> deletedListIds = tombstones(latest, BoardEntityType.LIST,
+                listIds, lists.stream().map(ListSummary::id).collect(Collectors.toSet()));
+
+        Set<Long> cardIds = upserted(latest, BoardEntityType.CARD);
+        List<CardSummary> cards = cardIds.isEmpty() ? List.of()
+                : cardRepository.findSummariesByBoardIdAndIdIn(boardId, cardIds);
+        List<Long> deletedCardIds = tombstones(latest, BoardEntityType.CARD,
+                cardIds, cards.stream().map(CardSummary::id).collect(Collectors.toSet()));
+
+        return Optional.of(new BoardChanges(false, cursorOf(boardId, next), hasMore,
+                board, lists, cards, deletedListIds, deletedCardIds));
+    }
+
+    @Scheduled(fixedDelayString = "${board-changes.compaction-interval-ms:3600000}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int removed = jdbcTemplate.update(COMPACT_SQL, Timestamp.valueOf(cutoff));
+        if (removed > 0) {
+            logger.info("Compacted {} board change rows older than {}", removed, cutoff);
+        }
+    }
+
+    private static Set<Long> upserted(Map<BoardEntityType, Map<Long, Boolean>> latest, BoardEntityType type) {
+        return latest.getOrDefault(type, Map.of()).entrySet().stream()
+                .filter(entry -> !entry.getValue())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Deleted entities, plus upserted ones that are gone (or left the board) by now
+    private static List<Long> tombstones(Map<BoardEntityType, Map<Long, Boolean>> latest, BoardEntityType type,
+                                         Set<Long> upsertedIds, Set<Long> foundIds) {
+        List<Long> ids = new ArrayList<>();
+        latest.getOrDefault(type, Map.of()).forEach((id, deleted) -> {
+            if (deleted || (upsertedIds.contains(id) && !foundIds.contains(id))) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
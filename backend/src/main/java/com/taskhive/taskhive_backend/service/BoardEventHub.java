@@ -0,0 +1,326 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.taskhive.taskhive_backend.event.BoardChangeBatchEvent;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.BoardEntityType;
+import com.taskhive.taskhive_backend.event.MembershipChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Fan-out of committed board changes to SSE subscribers.
+ *
+ * <p>Publishing never blocks the committing thread: each subscriber has a bounded queue and
+ * is drained by a dispatcher pool, at most one drain per subscriber at a time. When a slow
+ * subscriber's queue overflows, its queued events are coalesced into a single
+ * {@code resync} event, telling the client to catch up via GET /api/boards/{id}/changes.
+ * Events are compact ({@code type}, {@code id}, {@code deleted}); clients fetch the data
+ * through the delta endpoint.
+ *
+ * <p>Servlet writes block, so a stalled client holds a dispatcher thread for as long as its
+ * write hangs. The pool therefore grows from sse.dispatcher-threads up to
+ * sse.max-dispatcher-threads. A subscriber whose write has blocked for longer than
+ * sse.write-timeout-ms is detached and closed. Its thread is freed when Tomcat fails the write.
+ * Streams are also closed when the subscriber stops being a member of the board's workspace,
+ * or when the board is deleted. Metrics: taskhive.sse.connections, taskhive.sse.dropped,
+ * taskhive.sse.stalled and taskhive.sse.lag (commit to write).
+ */
+@Service
+public class BoardEventHub implements DisposableBean {
+
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    private record PushEvent(String name, Object data, long createdNanos) {
+    }
+
+    private final Map<Long, Set<Subscriber>> subscribersByBoard = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final WorkspaceMembershipService membershipService;
+    private final ThreadPoolExecutor dispatcher;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final Counter droppedEvents;
+    private final Counter stalled;
+    private final Timer lag;
+
+    public BoardEventHub(MeterRegistry meterRegistry,
+                         WorkspaceMembershipService membershipService,
+                         @Value("${sse.dispatcher-threads:4}") int dispatcherThreads,
+                         @Value("${sse.max-dispatcher-threads:64}") int maxDispatcherThreads,
+                         @Value("${sse.buffer-size:256}") int bufferSize,
+                         @Value("${sse.timeout-ms:1800000}") long timeoutMillis,
+                         @Value("${sse.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.membershipService = membershipService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // No queue: a drain either finds a free thread or starts one, up to the maximum
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, Math.max(dispatcherThreads, maxDispatcherThreads),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "sse-dispatch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+
+        Gauge.builder("taskhive.sse.connections", connections, AtomicInteger::get).register(meterRegistry);
+        this.droppedEvents = Counter.builder("taskhive.sse.dropped").register(meterRegistry);
+        this.stalled = Counter.builder("taskhive.sse.stalled").register(meterRegistry);
+        this.lag = Timer.builder("taskhive.sse.lag").register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long boardId, Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(boardId, userId, emitter);
+
+        subscribersByBoard.compute(boardId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        connections.incrementAndGet();
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        subscriber.offer(new PushEvent("ready", Map.of("boardId", boardId), System.nanoTime()));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        push(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        batch.changes().forEach(this::push);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        Set<Long> userIds = new HashSet<>(event.userIds());
+        // Evicted again here: a read between the eviction and the commit may have cached the old state
+        userIds.forEach(membershipService::evictUser);
+        Map<Long, Optional<Long>> workspaceIdByBoard = new HashMap<>();
+        for (Set<Subscriber> subscribers : subscribersByBoard.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (!userIds.contains(subscriber.userId)) {
+                    continue;
+                }
+                // Not isMemberOfBoard: that trusts the acting user's token claims, issued before this change
+                Optional<Long> workspaceId = workspaceIdByBoard.computeIfAbsent(subscriber.boardId,
+                        membershipService::findWorkspaceIdOfBoard);
+                boolean member = workspaceId.isPresent() && Arrays.binarySearch(
+                        membershipService.getWorkspaceIds(subscriber.userId), workspaceId.get()) >= 0;
+                if (!member) {
+                    subscriber.closeLater();
+                }
+            }
+        }
+    }
+
+    private void push(BoardChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByBoard.get(event.boardId());
+        if (subscribers == null) {
+            return;
+        }
+        if (event.entityType() == BoardEntityType.BOARD && event.deleted()) {
+            subscribers.forEach(Subscriber::closeLater);
+            return;
+        }
+        PushEvent push = new PushEvent("change",
+                Map.of("type", event.entityType().name(), "id", event.entityId(), "deleted", event.deleted()),
+                System.nanoTime());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(push);
+        }
+    }
+
+    // Keeps idle connections from being cut by proxies and detects dead clients
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        PushEvent ping = new PushEvent(null, null, System.nanoTime());
+        for (Set<Subscriber> subscribers : subscribersByBoard.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(ping);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sse.write-timeout-ms:5000}")
+    public void closeStalled() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> subscribers : subscribersByBoard.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long started = subscriber.writeStartedNanos;
+                if (started != 0 && now - started > writeTimeoutNanos) {
+                    stalled.increment();
+                    subscriber.closeLater();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (Set<Subscriber> subscribers : subscribersByBoard.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final Long boardId;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<PushEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        // When the write in progress started; 0 while not writing
+        private volatile long writeStartedNanos;
+
+        Subscriber(Long boardId, Long userId, SseEmitter emitter) {
+            this.boardId = boardId;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(PushEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Coalesce: whatever was queued is replaced by one resync instruction
+                int dropped = queue.size() + 1;
+                queue.clear();
+                overflowed = true;
+                droppedEvents.increment(dropped);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down, or every thread is busy: the next event or heartbeat retries
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (overflowed) {
+                    overflowed = false;
+                    send(SseEmitter.event().name("resync").data(Map.of("boardId", boardId)));
+                }
+                PushEvent event;
+                int sent = 0;
+                while (sent++ < MAX_EVENTS_PER_DRAIN && (event = queue.poll()) != null) {
+                    if (event.name() == null) {
+                        send(SseEmitter.event().comment("ping"));
+                    } else {
+                        send(SseEmitter.event().name(event.name()).data(event.data()));
+                        lag.record(System.nanoTime() - event.createdNanos(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                close();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Events that arrived while we were sending (or the drain cap) need another pass
+            if (!queue.isEmpty() || overflowed) {
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            writeStartedNanos = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                writeStartedNanos = 0;
+            }
+        }
+
+        void close() {
+            if (detach()) {
+                complete();
+            }
+        }
+
+        // Completing waits for a write in progress, so callers that must not block hand it off
+        void closeLater() {
+            if (!detach()) {
+                return;
+            }
+            try {
+                dispatcher.execute(this::complete);
+            } catch (RejectedExecutionException e) {
+                // The stream then ends at its timeout or with the failed write
+            }
+        }
+
+        private boolean detach() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            queue.clear();
+            subscribersByBoard.computeIfPresent(boardId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            connections.decrementAndGet();
+            return true;
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed
+            }
+        }
+    }
+}
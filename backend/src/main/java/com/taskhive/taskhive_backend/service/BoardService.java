@@ -1,14 +1,32 @@
 package com.taskhive.taskhive_backend.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskhive.taskhive_backend.dto.BoardSnapshot;
+import com.taskhive.taskhive_backend.dto.BoardSummary;
+import com.taskhive.taskhive_backend.dto.CardSummary;
+import com.taskhive.taskhive_backend.dto.ListSummary;
+import com.taskhive.taskhive_backend.dto.PageResponse;
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
 
 import com.taskhive.taskhive_backend.model.Board;
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.model.Workspace;
 import com.taskhive.taskhive_backend.repository.BoardRepository;
+import com.taskhive.taskhive_backend.repository.CardRepository;
+import com.taskhive.taskhive_backend.repository.TaskListRepository;
+import com.taskhive.taskhive_backend.util.PageCursor;
 
 @Service
 public class BoardService {
@@ -16,9 +34,18 @@ public class BoardService {
     @Autowired
     private BoardRepository boardRepository;
 
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
     @Autowired
     private ActivityLogService activityLogService;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
     public Board createBoard(Board board) {
         Board savedBoard = boardRepository.save(board);
 
@@ -32,8 +59,8 @@ public class BoardService {
         if (actor != null) {
             activityLogService.logActivity(
                 actor,
-                "Created board",
-                "Board: " + savedBoard.getTitle()
+                ActivityAction.CREATED_BOARD,
+                ActivityTarget.board(savedBoard)
             );
         }
 
@@ -43,4 +70,44 @@ public class BoardService {
     public List<Board> getBoardsByWorkspace(Workspace workspace) {
         return boardRepository.findByWorkspace(workspace);
     }
+
+    // Only id/title/workspaceId; serializing Board would walk lists and cards
+    public PageResponse<BoardSummary> getBoardSummaries(Long workspaceId, String cursor, int pageSize) {
+        long afterId = cursor == null ? 0L : PageCursor.decode(cursor, 1)[0];
+        List<BoardSummary> rows = boardRepository.findSummariesByWorkspaceId(workspaceId, afterId, Limit.of(pageSize + 1));
+        return PageResponse.of(rows, pageSize, board -> PageCursor.encode(board.id()));
+    }
+
+    public boolean existsInWorkspace(Long workspaceId, String title) {
+        return boardRepository.existsByWorkspaceIdAndTitleIgnoreCase(workspaceId, title);
+    }
+
+    /**
+     * Builds the board screen from a fixed set of queries (board, lists, card summaries) no matter how
+     * many lists the board has. Empty when the board does not exist or the user is not a
+     * member of its workspace. REPEATABLE_READ makes the queries see one database snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<BoardSnapshot> getSnapshot(Long boardId, Long userId) {
+        Optional<BoardSummary> board = boardRepository.findSummaryById(boardId);
+        if (board.isEmpty() || !membershipService.isMember(userId, board.get().workspaceId())) {
+            return Optional.empty();
+        }
+
+        // Same snapshot as the rows below, so the cursor covers exactly what is returned
+        long changeSeq = boardRepository.findChangeSeqById(boardId).orElse(0L);
+        List<ListSummary> lists = taskListRepository.findSummariesByBoardId(boardId);
+        Map<Long, List<CardSummary>> cardsByList = new HashMap<>();
+        for (CardSummary card : cardRepository.findSummariesByBoardId(boardId)) {
+            cardsByList.computeIfAbsent(card.listId(), id -> new ArrayList<>()).add(card);
+        }
+
+        List<BoardSnapshot.ListSnapshot> listSnapshots = new ArrayList<>(lists.size());
+        for (ListSummary list : lists) {
+            listSnapshots.add(new BoardSnapshot.ListSnapshot(
+                    list.id(), list.title(), list.rankKey(), cardsByList.getOrDefault(list.id(), List.of())));
+        }
+        return Optional.of(new BoardSnapshot(board.get(), listSnapshots,
+                BoardChangeService.cursorOf(boardId, changeSeq)));
+    }
 }
@@ -0,0 +1,84 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskhive.taskhive_backend.dto.BoardSnapshot;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Serialized board snapshots keyed by (boardId, version). Because the key includes the
+ * version from {@link BoardVersionService}, entries never need invalidating: a change makes
+ * the next request miss, and the stale entry ages out under the byte budget
+ * (board-cache.max-bytes). A hit, including an If-None-Match revalidation, only costs a
+ * membership check, which is itself cached.
+ */
+@Service
+public class BoardSnapshotCache {
+
+    public record CachedSnapshot(Long workspaceId, String etag, byte[] json) {
+    }
+
+    private record Key(long boardId, long version) {
+    }
+
+    private final BoardService boardService;
+    private final BoardVersionService boardVersionService;
+    private final WorkspaceMembershipService membershipService;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, CachedSnapshot> snapshots;
+
+    public BoardSnapshotCache(BoardService boardService,
+                              BoardVersionService boardVersionService,
+                              WorkspaceMembershipService membershipService,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${board-cache.max-bytes:67108864}") long maxBytes) {
+        this.boardService = boardService;
+        this.boardVersionService = boardVersionService;
+        this.membershipService = membershipService;
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, CachedSnapshot snapshot) -> snapshot.json().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "boardSnapshots");
+    }
+
+    /** Empty when the board does not exist or the user is not a member of its workspace. */
+    public Optional<CachedSnapshot> getSnapshot(Long boardId, Long userId) {
+        // Read the version before the rows: a concurrent commit can then only make us cache
+        // newer data under the older key, never older data under the newer one
+        long version = boardVersionService.currentVersion(boardId);
+        Key key = new Key(boardId, version);
+
+        CachedSnapshot cached = snapshots.getIfPresent(key);
+        if (cached != null) {
+            return membershipService.isMember(userId, cached.workspaceId()) ? Optional.of(cached) : Optional.empty();
+        }
+
+        return boardService.getSnapshot(boardId, userId).map(snapshot -> {
+            CachedSnapshot built = new CachedSnapshot(snapshot.board().workspaceId(),
+                    boardVersionService.etag(boardId, version), serialize(snapshot));
+            snapshots.put(key, built);
+            return built;
+        });
+    }
+
+    private byte[] serialize(BoardSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsBytes(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize board snapshot", e);
+        }
+    }
+}
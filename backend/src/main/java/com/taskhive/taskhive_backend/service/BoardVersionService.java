@@ -0,0 +1,35 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-board versions for snapshot caching and ETags, read from boards.change_seq.
+ * BoardChangeService advances that column in the same transaction as every board change, so
+ * a version moves whichever instance committed the change, and every instance sees the same
+ * value. The sequence never goes backwards and board IDs are never reused, so a (board,
+ * version) pair always names the same content. One primary-key lookup per read.
+ */
+@Service
+public class BoardVersionService {
+
+    private static final String VERSION_SQL = "select change_seq from boards where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BoardVersionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** The board's change sequence, or -1 when the board does not exist. */
+    public long currentVersion(Long boardId) {
+        List<Long> version = jdbcTemplate.queryForList(VERSION_SQL, Long.class, boardId);
+        return version.isEmpty() ? -1 : version.get(0);
+    }
+
+    public String etag(Long boardId, long version) {
+        return "\"b" + boardId + "-" + version + "\"";
+    }
+}
@@ -1,14 +1,42 @@
 package com.taskhive.taskhive_backend.service;
 
+import com.taskhive.taskhive_backend.dto.BulkCardResult;
+import com.taskhive.taskhive_backend.dto.CardLocation;
+import com.taskhive.taskhive_backend.dto.ListLocation;
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
+import com.taskhive.taskhive_backend.event.BoardChangeBatchEvent;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.BoardEntityType;
 import com.taskhive.taskhive_backend.model.Card;
 import com.taskhive.taskhive_backend.model.TaskList;
 import com.taskhive.taskhive_backend.model.User;
+import com.taskhive.taskhive_backend.payload.BulkCardRequest;
 import com.taskhive.taskhive_backend.payload.CardRequest;
+import com.taskhive.taskhive_backend.payload.MoveCardRequest;
 import com.taskhive.taskhive_backend.repository.CardRepository;
 import com.taskhive.taskhive_backend.repository.TaskListRepository;
 import com.taskhive.taskhive_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CardService {
@@ -25,6 +53,31 @@ public class CardService {
     @Autowired
     private ActivityLogService activityLogService;
 
+    @Autowired
+    private RankService rankService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${bulk.max-operations:500}")
+    private int maxBulkOperations;
+
+    // Final state of one card after folding all of its operations; null fields are untouched
+    private static class BulkTarget {
+        Boolean archived;
+        boolean assigneeSet;
+        Long assigneeId;
+        boolean dueDateSet;
+        LocalDateTime dueDate;
+        Long listId;
+    }
+
     public Card createCard(CardRequest request, User user) {
         TaskList list = taskListRepository.findById(request.getListId())
                 .orElseThrow(() -> new RuntimeException("TaskList not found with id: " + request.getListId()));
@@ -33,6 +86,7 @@ public class CardService {
         card.setTitle(request.getTitle());
         card.setDescription(request.getDescription());
         card.setList(list);
+        card.setRankKey(rankService.append(RankService.Scope.CARDS, list.getId()));
 
         // Set due date
         card.setDueDate(request.getDueDate());
@@ -49,8 +103,7 @@ public class CardService {
         Card savedCard = cardRepository.save(card);
 
         // Log activity
-        String location = "List: " + list.getTitle() + " → Card: " + card.getTitle();
-        activityLogService.logActivity(user, "created card", location);
+        activityLogService.logActivity(user, ActivityAction.CREATED_CARD, ActivityTarget.card(savedCard));
 
         return savedCard;
     }
@@ -80,20 +133,240 @@ public class CardService {
         Card updatedCard = cardRepository.save(card);
 
         // Log activity
-        String location = "Card: " + card.getTitle();
-        activityLogService.logActivity(user, "updated card", location);
+        activityLogService.logActivity(user, ActivityAction.UPDATED_CARD, ActivityTarget.card(updatedCard));
 
         return updatedCard;
     }
 
+    /**
+     * Moves a card within its list or to another list (possibly on another board), writing
+     * only the card's own row. Workspace checks are the caller's job.
+     */
+    @Transactional
+    public Card moveCard(Long cardId, MoveCardRequest request, User user) {
+        Card card = cardRepository.findById(cardId)
+                .orElseThrow(() -> new RuntimeException("Card not found with id: " + cardId));
+        TaskList target = request.getListId() == null ? card.getList()
+                : taskListRepository.findById(request.getListId())
+                        .orElseThrow(() -> new RuntimeException("TaskList not found with id: " + request.getListId()));
+
+        Long fromBoardId = card.getList().getBoard().getId();
+        String rank = rankService.rankFor(RankService.Scope.CARDS, target.getId(),
+                request.getAfterCardId(), request.getBeforeCardId(), cardId);
+
+        card.setList(target);
+        card.setRankKey(rank);
+        Card movedCard = cardRepository.save(card);
+
+        // The entity listener only sees the new board; the old one gets a tombstone
+        if (!fromBoardId.equals(target.getBoard().getId())) {
+            eventPublisher.publishEvent(new BoardChangedEvent(fromBoardId, BoardEntityType.CARD, cardId, true));
+        }
+
+        // Log activity
+        activityLogService.logActivity(user, ActivityAction.MOVED_CARD, ActivityTarget.card(movedCard));
+
+        return movedCard;
+    }
+
+    /**
+     * Applies many card operations in one transaction. Cards and target lists are resolved with
+     * one query each and membership is checked once per workspace; operations on the same card
+     * are folded (later ones win), then applied as one set-based UPDATE per distinct value and one
+     * JDBC batch for moves. Moved cards are appended to their target list.
+     *
+     * @throws IllegalArgumentException if the request is empty, too large or refers to missing
+     *         cards, lists or users
+     * @throws AccessDeniedException if the user is not a member of a card's workspace
+     */
+    @Transactional
+    public BulkCardResult applyBulk(BulkCardRequest request, User user) {
+        List<BulkCardRequest.Operation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations given");
+        }
+        if (operations.size() > maxBulkOperations) {
+            throw new IllegalArgumentException("At most " + maxBulkOperations + " operations per request");
+        }
+
+        Map<Long, BulkTarget> targets = new LinkedHashMap<>();
+        for (BulkCardRequest.Operation op : operations) {
+            if (op == null || op.getType() == null || op.getCardId() == null) {
+                throw new IllegalArgumentException("Every operation needs a type and a cardId");
+            }
+            BulkTarget target = targets.computeIfAbsent(op.getCardId(), id -> new BulkTarget());
+            switch (op.getType()) {
+                case MOVE -> {
+                    if (op.getListId() == null) {
+                        throw new IllegalArgumentException("MOVE needs a listId");
+                    }
+                    target.listId = op.getListId();
+                }
+                case ARCHIVE -> target.archived = true;
+                case UNARCHIVE -> target.archived = false;
+                case ASSIGN -> {
+                    if (op.getAssignedUserId() == null) {
+                        throw new IllegalArgumentException("ASSIGN needs an assignedUserId");
+                    }
+                    target.assigneeSet = true;
+                    target.assigneeId = op.getAssignedUserId();
+                }
+                case UNASSIGN -> {
+                    target.assigneeSet = true;
+                    target.assigneeId = null;
+                }
+                case SET_DUE_DATE -> {
+                    target.dueDateSet = true;
+                    target.dueDate = op.getDueDate();
+                }
+            }
+        }
+
+        Map<Long, CardLocation> cards = cardRepository.findLocationsByIdIn(targets.keySet()).stream()
+                .collect(Collectors.toMap(CardLocation::cardId, Function.identity()));
+        for (Long cardId : targets.keySet()) {
+            if (!cards.containsKey(cardId)) {
+                throw new IllegalArgumentException("Card not found with id: " + cardId);
+            }
+        }
+
+        // Authorize once per workspace rather than once per card
+        Set<Long> workspaceIds = cards.values().stream().map(CardLocation::workspaceId).collect(Collectors.toSet());
+        for (Long workspaceId : workspaceIds) {
+            if (!membershipService.isMember(user.getId(), workspaceId)) {
+                throw new AccessDeniedException("Forbidden: You are not a collaborator on this workspace");
+            }
+        }
+
+        Set<Long> listIds = targets.values().stream().map(t -> t.listId).filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<Long, ListLocation> lists = listIds.isEmpty() ? Map.of()
+                : taskListRepository.findLocationsByIdIn(listIds).stream()
+                        .collect(Collectors.toMap(ListLocation::listId, Function.identity()));
+
+        Set<Long> assigneeIds = targets.values().stream().filter(t -> t.assigneeId != null)
+                .map(t -> t.assigneeId).collect(Collectors.toSet());
+        Map<Long, User> assignees = assigneeIds.isEmpty() ? Map.of()
+                : userRepository.findAllById(assigneeIds).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // Group cards by the value they end up with, so each distinct value is one statement
+        Map<Boolean, List<Long>> byArchived = new HashMap<>();
+        Map<Long, List<Long>> byAssignee = new HashMap<>();
+        List<Long> unassigned = new ArrayList<>();
+        Map<LocalDateTime, List<Long>> byDueDate = new HashMap<>();
+        List<Long> dueDateCleared = new ArrayList<>();
+        // Sorted, so list locks are always taken in the same order
+        Map<Long, List<Long>> byList = new TreeMap<>();
+        Set<List<Long>> assigneeChecked = new HashSet<>();
+
+        for (Map.Entry<Long, BulkTarget> entry : targets.entrySet()) {
+            Long cardId = entry.getKey();
+            BulkTarget target = entry.getValue();
+            CardLocation card = cards.get(cardId);
+
+            if (target.listId != null) {
+                ListLocation list = lists.get(target.listId);
+                if (list == null) {
+                    throw new IllegalArgumentException("TaskList not found with id: " + target.listId);
+                }
+                // Same workspace keeps the assignee, comments and attachments with their members
+                if (!list.workspaceId().equals(card.workspaceId())) {
+                    throw new IllegalArgumentException("Cards can only move between boards of the same workspace");
+                }
+                byList.computeIfAbsent(target.listId, id -> new ArrayList<>()).add(cardId);
+            }
+            if (target.archived != null) {
+                byArchived.computeIfAbsent(target.archived, a -> new ArrayList<>()).add(cardId);
+            }
+            if (target.assigneeSet && target.assigneeId == null) {
+                unassigned.add(cardId);
+            } else if (target.assigneeSet) {
+                if (!assignees.containsKey(target.assigneeId)) {
+                    throw new IllegalArgumentException("User to assign not found with id: " + target.assigneeId);
+                }
+                if (assigneeChecked.add(List.of(card.workspaceId(), target.assigneeId))
+                        && !membershipService.isMember(target.assigneeId, card.workspaceId())) {
+                    throw new IllegalArgumentException("User " + target.assigneeId + " is not a member of the card's workspace");
+                }
+                byAssignee.computeIfAbsent(target.assigneeId, id -> new ArrayList<>()).add(cardId);
+            }
+            if (target.dueDateSet && target.dueDate == null) {
+                dueDateCleared.add(cardId);
+            } else if (target.dueDateSet) {
+                byDueDate.computeIfAbsent(target.dueDate, d -> new ArrayList<>()).add(cardId);
+            }
+        }
+
+        byArchived.forEach((archived, ids) -> cardRepository.updateArchived(ids, archived));
+        byAssignee.forEach((assigneeId, ids) -> cardRepository.updateAssignee(ids, assignees.get(assigneeId)));
+        if (!unassigned.isEmpty()) {
+            cardRepository.clearAssignee(unassigned);
+        }
+        byDueDate.forEach((dueDate, ids) -> cardRepository.updateDueDate(ids, dueDate));
+        if (!dueDateCleared.isEmpty()) {
+            cardRepository.updateDueDate(dueDateCleared, null);
+        }
+
+        List<Object[]> moves = new ArrayList<>();
+        byList.forEach((listId, ids) -> {
+            List<String> ranks = rankService.appendMany(RankService.Scope.CARDS, listId, ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                moves.add(new Object[] {listId, ranks.get(i), ids.get(i)});
+            }
+        });
+        if (!moves.isEmpty()) {
+            jdbcTemplate.batchUpdate("update card set list_id = ?, rank_key = ? where id = ?", moves);
+        }
+
+        // Set-based writes bypass the entity listener, so report the changes in one batch
+        List<BoardChangedEvent> changes = new ArrayList<>();
+        List<ActivityLogService.Entry> activities = new ArrayList<>();
+        Set<Long> boardIds = new TreeSet<>();
+        targets.forEach((cardId, target) -> {
+            CardLocation card = cards.get(cardId);
+            ListLocation list = target.listId == null ? null : lists.get(target.listId);
+            Long boardId = list == null ? card.boardId() : list.boardId();
+            changes.add(new BoardChangedEvent(boardId, BoardEntityType.CARD, cardId, false));
+            boardIds.add(boardId);
+            if (!boardId.equals(card.boardId())) {
+                changes.add(new BoardChangedEvent(card.boardId(), BoardEntityType.CARD, cardId, true));
+                boardIds.add(card.boardId());
+            }
+
+            ActivityTarget activityTarget = list == null
+                    ? ActivityTarget.card(cardId, card.listId(), card.boardId(), card.workspaceId())
+                    : ActivityTarget.card(cardId, list.listId(), list.boardId(), list.workspaceId());
+            if (list != null) {
+                activities.add(new ActivityLogService.Entry(ActivityAction.MOVED_CARD, activityTarget, null));
+            }
+            if (target.archived != null) {
+                activities.add(new ActivityLogService.Entry(
+                        target.archived ? ActivityAction.ARCHIVED_CARD : ActivityAction.UNARCHIVED_CARD,
+                        activityTarget, null));
+            }
+            if (target.assigneeSet) {
+                activities.add(new ActivityLogService.Entry(
+                        target.assigneeId == null ? ActivityAction.UNASSIGNED_CARD : ActivityAction.ASSIGNED_CARD,
+                        activityTarget, null));
+            }
+            if (target.dueDateSet) {
+                activities.add(new ActivityLogService.Entry(ActivityAction.UPDATED_DUE_DATE, activityTarget, null));
+            }
+        });
+        eventPublisher.publishEvent(new BoardChangeBatchEvent(changes));
+        activityLogService.logActivities(user, activities);
+
+        return new BulkCardResult(operations.size(), List.copyOf(boardIds));
+    }
+
     public void deleteCard(Long cardId, User user) {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new RuntimeException("Card not found with id: " + cardId));
 
         cardRepository.delete(card);
 
-        // Log activity
-        String location = "Card: " + card.getTitle();
-        activityLogService.logActivity(user, "deleted card", location);
+        // Log activity (the title goes along, since the card row is gone)
+        activityLogService.logActivity(user, ActivityAction.DELETED_CARD, ActivityTarget.card(card), card.getTitle());
     }
 }
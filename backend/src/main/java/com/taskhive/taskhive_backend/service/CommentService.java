@@ -1,7 +1,6 @@
 package com.taskhive.taskhive_backend.service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,10 +46,6 @@ public class CommentService {
         return commentRepository.save(comment);
     }
 
-    public List<Comment> getCommentsByCard(Long cardId) {
-        return commentRepository.findByCardIdOrderByCreatedAtAsc(cardId);
-    }
-
     public void deleteComment(Long commentId, String userEmail) {
         Optional<Comment> commentOpt = commentRepository.findById(commentId);
         if (commentOpt.isEmpty()) {
@@ -0,0 +1,108 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Single-node OTP store: O(1) lookup by email plus a timing wheel of one-second slots for
+ * expiry. Each sweep only visits the slots whose time has passed, so cleaning up expired
+ * codes costs O(expired) regardless of how many are outstanding.
+ */
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 1024; // ~17 minutes of one-second slots
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Entry>[] wheel;
+    private final int maxAttempts;
+    private long sweptThroughTick = System.currentTimeMillis() / TICK_MILLIS;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryOtpStore(@Value("${otp.max-attempts:5}") int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        this.wheel = new Set[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    @Override
+    public void save(String email, String code, Duration ttl) {
+        if (ttl.toMillis() >= (WHEEL_SIZE - 1) * TICK_MILLIS) {
+            throw new IllegalArgumentException("OTP lifetime exceeds the expiry wheel span: " + ttl);
+        }
+        Entry entry = new Entry(email, code, System.currentTimeMillis() + ttl.toMillis());
+        Entry previous = entries.put(email, entry);
+        if (previous != null) {
+            slotOf(previous).remove(previous);
+        }
+        slotOf(entry).add(entry);
+    }
+
+    @Override
+    public boolean verify(String email, String code) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt || entry.attempts.incrementAndGet() > maxAttempts) {
+            discard(entry);
+            return false;
+        }
+        boolean matches = MessageDigest.isEqual(
+                entry.code.getBytes(StandardCharsets.UTF_8), code.getBytes(StandardCharsets.UTF_8));
+        // remove(key, value) makes the code single-use even under concurrent verifications
+        return matches && discard(entry);
+    }
+
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long nowTick = now / TICK_MILLIS;
+        for (long tick = Math.max(sweptThroughTick + 1, nowTick - WHEEL_SIZE + 1); tick <= nowTick; tick++) {
+            Set<Entry> slot = wheel[(int) (tick % WHEEL_SIZE)];
+            for (Entry entry : slot) {
+                if (entry.expiresAt <= now) {
+                    discard(entry);
+                }
+            }
+        }
+        sweptThroughTick = nowTick;
+    }
+
+    private boolean discard(Entry entry) {
+        slotOf(entry).remove(entry);
+        return entries.remove(entry.email, entry);
+    }
+
+    // Rounded up so a slot is only swept once every entry in it has expired
+    private Set<Entry> slotOf(Entry entry) {
+        long tick = (entry.expiresAt + TICK_MILLIS - 1) / TICK_MILLIS;
+        return wheel[(int) (tick % WHEEL_SIZE)];
+    }
+
+    private static final class Entry {
+        private final String email;
+        private final String code;
+        private final long expiresAt;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private Entry(String email, String code, long expiresAt) {
+            this.email = email;
+            this.code = code;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskhive.taskhive_backend.model.OtpCode;
+import com.taskhive.taskhive_backend.repository.OtpCodeRepository;
+
+/**
+ * OTP store backed by the small otp_codes table, for deployments with more than one node.
+ * Expired rows are purged in bulk once a minute.
+ */
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpCodeRepository otpCodeRepository;
+    private final int maxAttempts;
+
+    public JpaOtpStore(OtpCodeRepository otpCodeRepository, @Value("${otp.max-attempts:5}") int maxAttempts) {
+        this.otpCodeRepository = otpCodeRepository;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    @Transactional
+    public void save(String email, String code, Duration ttl) {
+        otpCodeRepository.save(new OtpCode(email, code, LocalDateTime.now().plus(ttl)));
+    }
+
+    @Override
+    @Transactional
+    public boolean verify(String email, String code) {
+        Optional<OtpCode> optionalOtp = otpCodeRepository.findForUpdate(email);
+        if (optionalOtp.isEmpty()) {
+            return false;
+        }
+
+        OtpCode otp = optionalOtp.get();
+        if (!LocalDateTime.now().isBefore(otp.getExpiresAt()) || otp.getAttempts() + 1 > maxAttempts) {
+            otpCodeRepository.delete(otp);
+            return false;
+        }
+
+        if (MessageDigest.isEqual(otp.getCode().getBytes(StandardCharsets.UTF_8), code.getBytes(StandardCharsets.UTF_8))) {
+            otpCodeRepository.delete(otp);
+            return true;
+        }
+        otp.setAttempts(otp.getAttempts() + 1);
+        return false;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        otpCodeRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -3,11 +3,18 @@ package com.taskhive.taskhive_backend.service;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.taskhive.taskhive_backend.security.VerifiedTokenCache;
+import com.taskhive.taskhive_backend.security.WorkspaceIdCodec;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,44 +23,93 @@ import io.jsonwebtoken.security.Keys;
 public class JwtService {
 
     private final Key key;
+    private final JwtParser parser;
+    private final VerifiedTokenCache tokenCache;
+    private final boolean workspaceClaimsEnabled;
+    private final int maxWorkspaceClaims;
 
     private static final long EXPIRATION_TIME = 86400000; // 1 day
 
-    public JwtService(@Value("${jwt.secret}") String secret) {
-    this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-}
+    // Compact workspace membership carried in the token (see WorkspaceIdCodec)
+    public static final String WORKSPACES_CLAIM = "wsm";
+    public static final String MEMBERSHIP_VERSION_CLAIM = "wsv";
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      VerifiedTokenCache tokenCache,
+                      @Value("${jwt.workspace-claims.enabled:false}") boolean workspaceClaimsEnabled,
+                      @Value("${jwt.workspace-claims.max-workspaces:256}") int maxWorkspaceClaims) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // The parser is immutable and thread-safe, so build it once instead of per call
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.tokenCache = tokenCache;
+        this.workspaceClaimsEnabled = workspaceClaimsEnabled;
+        this.maxWorkspaceClaims = maxWorkspaceClaims;
+    }
 
 
     public String generateToken(String username) {
+        return baseToken(username).compact();
+    }
+
+    /**
+     * Issues a token that also carries the caller's workspace IDs and the membership version
+     * they were read at, when workspace claims are enabled. Users in more than
+     * jwt.workspace-claims.max-workspaces workspaces get a plain token to keep it small.
+     */
+    public String generateToken(String username, long[] workspaceIds, long membershipVersion) {
+        JwtBuilder builder = baseToken(username);
+        if (workspaceClaimsEnabled && workspaceIds.length <= maxWorkspaceClaims) {
+            builder.claim(WORKSPACES_CLAIM, WorkspaceIdCodec.encode(workspaceIds))
+                    .claim(MEMBERSHIP_VERSION_CLAIM, membershipVersion);
+        }
+        return builder.compact();
+    }
+
+    public boolean isWorkspaceClaimsEnabled() {
+        return workspaceClaimsEnabled;
+    }
+
+    // Workspace IDs from the token, or null when absent or issued for an older membership version
+    public long[] extractWorkspaceIds(Claims claims, long currentMembershipVersion) {
+        String encoded = claims.get(WORKSPACES_CLAIM, String.class);
+        Number version = claims.get(MEMBERSHIP_VERSION_CLAIM, Number.class);
+        if (encoded == null || version == null || version.longValue() != currentMembershipVersion) {
+            return null;
+        }
+        return WorkspaceIdCodec.decode(encoded);
+    }
+
+    private JwtBuilder baseToken(String username) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, used for revocation
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(key, SignatureAlgorithm.HS256);
+    }
+
+    /**
+     * Parses and verifies the token once and returns its claims. Tokens this instance has
+     * already verified are answered from the cache until they expire.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims validateToken(String token) {
+        Claims claims = tokenCache.get(token);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            tokenCache.put(token, claims);
+        }
+        return claims;
     }
 
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return validateToken(token).getSubject();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+        Claims claims = validateToken(token);
+        return claims.getSubject().equals(userDetails.getUsername())
+                && claims.getExpiration().after(new Date());
     }
 }
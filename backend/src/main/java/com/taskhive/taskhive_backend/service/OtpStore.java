@@ -0,0 +1,20 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.time.Duration;
+
+/**
+ * Short-lived one-time passwords keyed by email. Implementations are selected with the
+ * {@code otp.store} property: {@code memory} (default, single node) or {@code database}
+ * (shared otp_codes table for multi-node deployments).
+ */
+public interface OtpStore {
+
+    /** Stores a code for the email, replacing any previous one. */
+    void save(String email, String code, Duration ttl);
+
+    /**
+     * Checks a code and counts the attempt. A matching code is consumed; an expired code, or
+     * one that has seen too many wrong attempts, is discarded.
+     */
+    boolean verify(String email, String code);
+}
@@ -0,0 +1,243 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.taskhive.taskhive_backend.event.BoardChangeBatchEvent;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.BoardEntityType;
+import com.taskhive.taskhive_backend.util.RankKey;
+
+/**
+ * Computes rank keys for cards (within a list) and lists (within a board).
+ *
+ * <p>Placing an item only computes one key between its neighbours, so a move or insert writes a
+ * single row. Rank computations for a container are serialized with a row lock on the
+ * container (the list or board row) so two concurrent moves cannot pick the same key. Two
+ * things trigger a rebalance, which re-spaces every key in one container: duplicate keys
+ * (rows from before ranks existed all share {@link RankKey#LEGACY}) and keys longer than
+ * ranks.max-length. Duplicates met during a move are fixed at once. Everything else is
+ * handled by the background job.
+ */
+@Service
+public class RankService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankService.class);
+
+    /** What is being ordered, and inside which container. */
+    public enum Scope {
+        CARDS("card", "list_id", "lists", BoardEntityType.CARD),
+        LISTS("lists", "board_id", "boards", BoardEntityType.LIST);
+
+        private final String table;
+        private final String parentColumn;
+        private final String parentTable;
+        private final BoardEntityType entityType;
+
+        Scope(String table, String parentColumn, String parentTable, BoardEntityType entityType) {
+            this.table = table;
+            this.parentColumn = parentColumn;
+            this.parentTable = parentTable;
+            this.entityType = entityType;
+        }
+    }
+
+    private record Container(Scope scope, long id) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxLength;
+    private final int batchSize;
+    private final Set<Container> pending = ConcurrentHashMap.newKeySet();
+    // Scopes whose legacy rows have all been ranked; after that only long keys need work
+    private final Set<Scope> backfilled = ConcurrentHashMap.newKeySet();
+
+    public RankService(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${ranks.max-length:24}") int maxLength,
+                       @Value("${ranks.rebalance-batch:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.maxLength = maxLength;
+        this.batchSize = batchSize;
+    }
+
+    /** Rank that puts a new item after every existing item in the container. */
+    public String append(Scope scope, long containerId) {
+        String last = jdbcTemplate.queryForObject(
+                "select max(rank_key) from " + scope.table + " where " + scope.parentColumn + " = ?",
+                String.class, containerId);
+        return checkLength(scope, containerId, RankKey.between(last, null));
+    }
+
+    /**
+     * {@code count} successive ranks after every existing item in the container, for placing
+     * several items at once. Must run inside the caller's transaction; locks the container row.
+     */
+    public List<String> appendMany(Scope scope, long containerId, int count) {
+        jdbcTemplate.queryForList("select id from " + scope.parentTable + " where id = ? for update",
+                Long.class, containerId);
+        String previous = jdbcTemplate.queryForObject(
+                "select max(rank_key) from " + scope.table + " where " + scope.parentColumn + " = ?",
+                String.class, containerId);
+        if (count <= 0) {
+            return List.of();
+        }
+        // One evenly spaced run: the keys stay about as long as the last one, whatever the count
+        List<String> ranks = List.of(RankKey.spread(previous, null, count));
+        checkLength(scope, containerId, ranks.get(count - 1));
+        return ranks;
+    }
+
+    /**
+     * Rank for placing {@code movingId} after {@code afterId} and/or before {@code beforeId}
+     * (both null: at the end). Must run inside the caller's transaction; locks the container
+     * row until it commits.
+     *
+     * @throws IllegalArgumentException if a neighbour is not in the container
+     */
+    public String rankFor(Scope scope, long containerId, Long afterId, Long beforeId, long movingId) {
+        if (Long.valueOf(movingId).equals(afterId) || Long.valueOf(movingId).equals(beforeId)) {
+            throw new IllegalArgumentException("An item cannot be placed next to itself");
+        }
+        jdbcTemplate.queryForList("select id from " + scope.parentTable + " where id = ? for update",
+                Long.class, containerId);
+
+        String[] bounds = neighbourRanks(scope, containerId, afterId, beforeId, movingId);
+        if (leavesNoRoom(scope, containerId, afterId, beforeId, movingId, bounds)) {
+            // Equal (legacy) ranks leave no room: re-space the container, then look again
+            rebalanceLocked(scope, containerId);
+            bounds = neighbourRanks(scope, containerId, afterId, beforeId, movingId);
+        }
+        return checkLength(scope, containerId, RankKey.between(bounds[0], bounds[1]));
+    }
+
+    // Duplicates from concurrent appends after the backfill are harmless (ties break by id) and
+    // are re-spaced by rankFor as soon as something is dropped between them
+    @Scheduled(fixedDelayString = "${ranks.rebalance-interval-ms:60000}")
+    public void rebalancePending() {
+        List<Container> work = new ArrayList<>(pending);
+        pending.removeAll(work);
+        for (Scope scope : Scope.values()) {
+            if (backfilled.contains(scope)) {
+                continue;
+            }
+            // Containers that still have duplicate keys, a batch per run (an index-only scan)
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "select distinct " + scope.parentColumn + " from " + scope.table
+                            + " where " + scope.parentColumn + " is not null"
+                            + " group by " + scope.parentColumn + ", rank_key having count(*) > 1 limit ?",
+                    Long.class, batchSize);
+            if (ids.isEmpty()) {
+                backfilled.add(scope);
+            }
+            ids.forEach(id -> work.add(new Container(scope, id)));
+        }
+        for (Container container : work.stream().distinct().toList()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("select id from " + container.scope().parentTable
+                            + " where id = ? for update", Long.class, container.id());
+                    rebalanceLocked(container.scope(), container.id());
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Rebalancing {} {} failed", container.scope(), container.id(), e);
+            }
+        }
+    }
+
+    private String[] neighbourRanks(Scope scope, long containerId, Long afterId, Long beforeId, long movingId) {
+        String after = afterId != null ? rankOf(scope, containerId, afterId) : null;
+        String before = beforeId != null ? rankOf(scope, containerId, beforeId) : null;
+        String scoped = " from " + scope.table + " where " + scope.parentColumn + " = ? and id <> ?";
+
+        if (afterId != null && beforeId == null) {
+            before = jdbcTemplate.queryForObject("select min(rank_key)" + scoped + " and rank_key > ?",
+                    String.class, containerId, movingId, after);
+        } else if (beforeId != null && afterId == null) {
+            after = jdbcTemplate.queryForObject("select max(rank_key)" + scoped + " and rank_key < ?",
+                    String.class, containerId, movingId, before);
+        } else if (afterId == null) {
+            after = jdbcTemplate.queryForObject("select max(rank_key)" + scoped,
+                    String.class, containerId, movingId);
+        }
+        return new String[] {after, before};
+    }
+
+    /*
+     * Two neighbours leave no room when their keys are equal or out of order. A single
+     * neighbour does when it shares its key with items that display on the moving item's side
+     * of it (ties break by id): the next distinct key would put the item past that whole group.
+     */
+    private boolean leavesNoRoom(Scope scope, long containerId, Long afterId, Long beforeId, long movingId,
+                                 String[] bounds) {
+        if (afterId != null && beforeId != null) {
+            return bounds[0].compareTo(bounds[1]) >= 0;
+        }
+        if (afterId == null && beforeId == null) {
+            return false;
+        }
+        String tied = afterId != null
+                ? " and rank_key = ? and id > ?"
+                : " and rank_key = ? and id < ?";
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + scope.table + " where " + scope.parentColumn + " = ? and id <> ?"
+                        + tied + ")",
+                Boolean.class, containerId, movingId,
+                afterId != null ? bounds[0] : bounds[1], afterId != null ? afterId : beforeId));
+    }
+
+    private String rankOf(Scope scope, long containerId, long id) {
+        List<String> rank = jdbcTemplate.queryForList(
+                "select rank_key from " + scope.table + " where id = ? and " + scope.parentColumn + " = ?",
+                String.class, id, containerId);
+        if (rank.isEmpty()) {
+            throw new IllegalArgumentException("Neighbour " + id + " is not in the target container");
+        }
+        return rank.get(0);
+    }
+
+    // Caller holds the container lock
+    private void rebalanceLocked(Scope scope, long containerId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from " + scope.table + " where " + scope.parentColumn + " = ? order by rank_key, id",
+                Long.class, containerId);
+        String[] keys = RankKey.spread(ids.size());
+        List<Object[]> updates = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            updates.add(new Object[] {keys[i], ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("update " + scope.table + " set rank_key = ? where id = ?", updates);
+
+        // Plain SQL bypasses the entity listener, so tell delta sync and SSE subscribers ourselves
+        Long boardId = scope == Scope.LISTS ? Long.valueOf(containerId)
+                : jdbcTemplate.queryForObject("select board_id from lists where id = ?", Long.class, containerId);
+        eventPublisher.publishEvent(new BoardChangeBatchEvent(ids.stream()
+                .map(id -> new BoardChangedEvent(boardId, scope.entityType, id, false))
+                .toList()));
+        logger.info("Rebalanced {} ranks in {} {}", ids.size(), scope.parentTable, containerId);
+    }
+
+    private String checkLength(Scope scope, long containerId, String rank) {
+        if (rank.length() > maxLength) {
+            pending.add(new Container(scope, containerId));
+        }
+        return rank;
+    }
+}
@@ -1,53 +1,309 @@
 package com.taskhive.taskhive_backend.service;
 
+import com.taskhive.taskhive_backend.event.BoardChangeBatchEvent;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.BoardEntityType;
 import com.taskhive.taskhive_backend.model.Card;
 import com.taskhive.taskhive_backend.repository.CardRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import com.taskhive.taskhive_backend.util.DeadlineQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Emails a card's assignee reminder.lead-minutes before the card is due.
+ *
+ * <p>Upcoming reminders sit in an in-memory min-heap keyed by send time, and one scheduler
+ * thread sleeps until the earliest of them. The heap holds only cards due within the next
+ * reminder.window-minutes (plus the lead). That window is reloaded with one range scan of
+ * idx_card_due_date every half window, which is also all a restart has to redo. Between
+ * loads, card changes (board change events, after commit) reschedule or cancel the cards they
+ * touch. The committing thread only records which cards changed. The scheduler thread
+ * re-reads their due dates, since most card events (comments, attachments, moves) leave the
+ * due date alone and should not cost the writer a query. Sending first claims the cards
+ * with one UPDATE ... RETURNING that re-checks them, so a stale heap entry never sends early
+ * or twice, and neither do several instances.
+ */
 @Service
-public class ReminderService {
+public class ReminderService implements DisposableBean {
 
-    @Autowired
-    private CardRepository cardRepository;
+    private static final Logger logger = LoggerFactory.getLogger(ReminderService.class);
 
-    @Autowired
-    private EmailService emailService;
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
 
-    // Runs every 30 minutes
-    @Scheduled(fixedRate = 30 * 60 * 1000)
+    private static final String PENDING = " and reminder_sent = false and archived = false and assigned_user_id is not null";
+
+    private static final String WINDOW_SQL =
+            "select id, due_date from card where due_date > ? and due_date <= ?" + PENDING;
+
+    private static final String RELOAD_SQL =
+            "select id, due_date from card where due_date is not null" + PENDING + " and id in ";
+
+    private static final String CLAIM_SQL =
+            "update card c set reminder_sent = true from users u, lists l "
+                    + "where u.id = c.assigned_user_id and l.id = c.list_id and c.reminder_sent = false "
+                    + "and c.archived = false and c.due_date > ? and c.due_date <= ? and c.id in ";
+
+    private static final String CLAIM_RETURNING =
+            " returning c.id, c.title, c.due_date, u.email, u.username, l.board_id";
+
+    private record Reminder(long cardId, String title, LocalDateTime dueDate, String email, String username,
+                            long boardId) {
+    }
+
+    private final CardRepository cardRepository;
+    private final EmailService emailService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lead;
+    private final Duration window;
+    private final int batchSize;
+
+    private final Object lock = new Object();
+    private final DeadlineQueue queue = new DeadlineQueue();
+    // Cards changed since the scheduler last re-read them
+    private Set<Long> changedCards = new HashSet<>();
+    private LocalDateTime loadedUntil = LocalDateTime.MIN;
+    private volatile LocalDateTime nextRefresh = LocalDateTime.MIN;
+    private volatile boolean running = true;
+    private Thread scheduler;
+
+    public ReminderService(CardRepository cardRepository,
+                           EmailService emailService,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${reminder.lead-minutes:60}") long leadMinutes,
+                           @Value("${reminder.window-minutes:120}") long windowMinutes,
+                           @Value("${reminder.batch-size:200}") int batchSize) {
+        this.cardRepository = cardRepository;
+        this.emailService = emailService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.lead = Duration.ofMinutes(leadMinutes);
+        this.window = Duration.ofMinutes(windowMinutes);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = new Thread(this::runScheduler, "reminder-scheduler");
+        scheduler.setDaemon(true);
+        scheduler.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (scheduler != null) {
+            LockSupport.unpark(scheduler);
+            scheduler.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    // Manual trigger: reload the window and send whatever is due now
     public void sendDueDateReminders() {
-         sendDueDateReminders(); // manually trigger the logic
+        LocalDateTime now = LocalDateTime.now();
+        refresh(now);
+        reloadChanged();
+        sendDue(now);
+    }
+
+    public List<Card> getUpcomingDueCards() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime oneHourFromNow = now.plusHours(1);
+        return cardRepository.findByDueDateBetweenAndReminderSentFalse(now, oneHourFromNow);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        cardsChanged(List.of(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        cardsChanged(batch.changes());
+    }
+
+    private void runScheduler() {
+        while (running) {
+            long waitNanos;
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                if (!now.isBefore(nextRefresh)) {
+                    refresh(now);
+                }
+                reloadChanged();
+                sendDue(now);
+                waitNanos = nanosUntilNextWakeUp();
+            } catch (RuntimeException e) {
+                // Cards polled but not claimed come back with the next window load
+                logger.warn("Sending due-date reminders failed; will retry", e);
+                waitNanos = RETRY_NANOS;
+            }
+            LockSupport.parkNanos(this, waitNanos);
+        }
+    }
+
+    private void refresh(LocalDateTime now) {
+        LocalDateTime until = now.plus(lead).plus(window);
+        Map<Long, LocalDateTime> due = new HashMap<>();
+        jdbcTemplate.query(WINDOW_SQL, rs -> {
+            due.put(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+        }, Timestamp.valueOf(now), Timestamp.valueOf(until));
+        synchronized (lock) {
+            due.forEach((cardId, dueDate) -> queue.schedule(cardId, dueDate.minus(lead)));
+            loadedUntil = until;
+        }
+        nextRefresh = now.plus(window.dividedBy(2));
+        logger.debug("Loaded {} due-date reminders up to {}", due.size(), until);
+    }
+
+    private void sendDue(LocalDateTime now) {
+        while (true) {
+            List<Long> cardIds;
+            synchronized (lock) {
+                cardIds = queue.pollDue(now, batchSize);
+            }
+            if (cardIds.isEmpty()) {
+                return;
+            }
+            List<Reminder> claimed = transactionTemplate.execute(status -> claim(cardIds, now));
+            for (Reminder reminder : claimed) {
+                send(reminder);
+            }
+        }
+    }
 
-        List<Card> upcomingCards = cardRepository.findByDueDateBetweenAndReminderSentFalse(now, oneHourFromNow);
+    // Marks the cards as reminded and returns those that were still due and unreminded
+    private List<Reminder> claim(List<Long> cardIds, LocalDateTime now) {
+        Object[] args = new Object[cardIds.size() + 2];
+        args[0] = Timestamp.valueOf(now);
+        args[1] = Timestamp.valueOf(now.plus(lead));
+        for (int i = 0; i < cardIds.size(); i++) {
+            args[i + 2] = cardIds.get(i);
+        }
+        List<Reminder> claimed = jdbcTemplate.query(CLAIM_SQL + inList(cardIds.size()) + CLAIM_RETURNING,
+                (rs, rowNum) -> new Reminder(rs.getLong(1), rs.getString(2), rs.getTimestamp(3).toLocalDateTime(),
+                        rs.getString(4), rs.getString(5), rs.getLong(6)), args);
+        if (!claimed.isEmpty()) {
+            // reminderSent is part of the card view, so boards must see the change
+            eventPublisher.publishEvent(new BoardChangeBatchEvent(claimed.stream()
+                    .map(reminder -> new BoardChangedEvent(reminder.boardId(), BoardEntityType.CARD,
+                            reminder.cardId(), false))
+                    .toList()));
+        }
+        return claimed;
+    }
 
-        for (Card card : upcomingCards) {
-            if (card.getAssignedUser() != null && card.getAssignedUser().getEmail() != null) {
-                String email = card.getAssignedUser().getEmail();
-                String subject = "Reminder: Card '" + card.getTitle() + "' is due soon!";
-                String body = "Hi " + card.getAssignedUser().getUsernameRaw() + ",\n\n"
+    private void send(Reminder reminder) {
+        if (reminder.email() == null) {
+            return;
+        }
+        String subject = "Reminder: Card '" + reminder.title() + "' is due soon!";
+        String body = "Hi " + reminder.username() + ",\n\n"
+                + "This is a reminder that the card **" + reminder.title() + "** is due at "
+                + reminder.dueDate() + ".\n\n"
+                + "Regards,\nTaskHive Team";
+        emailService.sendReminderEmail(reminder.email(), subject, body);
+    }
 
-                        + "This is a reminder that the card **" + card.getTitle() + "** is due at "
-                        + card.getDueDate() + ".\n\n"
-                        + "Regards,\nTaskHive Team";
+    // Runs on the committing thread: no queries, just note the cards for the scheduler
+    private void cardsChanged(Collection<BoardChangedEvent> changes) {
+        boolean changed = false;
+        synchronized (lock) {
+            for (BoardChangedEvent change : changes) {
+                if (change.entityType() != BoardEntityType.CARD) {
+                    continue;
+                }
+                if (change.deleted()) {
+                    queue.cancel(change.entityId());
+                    changedCards.remove(change.entityId());
+                } else {
+                    changed |= changedCards.add(change.entityId());
+                }
+            }
+        }
+        if (changed && scheduler != null) {
+            LockSupport.unpark(scheduler);
+        }
+    }
 
-                emailService.sendReminderEmail(email, subject, body);
+    // Re-reads the due dates of changed cards, batch-size at a time, and reschedules them.
+    // A card whose due date moved later may still be polled first; the claim re-checks it.
+    private void reloadChanged() {
+        List<Long> changed;
+        synchronized (lock) {
+            if (changedCards.isEmpty()) {
+                return;
+            }
+            changed = List.copyOf(changedCards);
+            changedCards = new HashSet<>();
+        }
+        for (int from = 0; from < changed.size(); from += batchSize) {
+            List<Long> cardIds = changed.subList(from, Math.min(from + batchSize, changed.size()));
+            Map<Long, LocalDateTime> due = new HashMap<>();
+            try {
+                jdbcTemplate.query(RELOAD_SQL + inList(cardIds.size()), rs -> {
+                    due.put(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime());
+                }, cardIds.toArray());
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    changedCards.addAll(changed.subList(from, changed.size()));
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                for (Long cardId : cardIds) {
+                    LocalDateTime dueDate = due.get(cardId);
+                    // Cards beyond the loaded window are picked up by a later window load
+                    if (dueDate == null || dueDate.isAfter(loadedUntil)) {
+                        queue.cancel(cardId);
+                    } else {
+                        queue.schedule(cardId, dueDate.minus(lead));
+                    }
+                }
+            }
+        }
+    }
 
-                card.setReminderSent(true);
-                cardRepository.save(card);
+    private long nanosUntilNextWakeUp() {
+        LocalDateTime wakeUp = nextRefresh;
+        synchronized (lock) {
+            LocalDateTime next = queue.nextDeadline();
+            if (next != null && next.isBefore(wakeUp)) {
+                wakeUp = next;
             }
         }
+        return Math.max(0, Duration.between(LocalDateTime.now(), wakeUp).toNanos());
     }
-    public List<Card> getUpcomingDueCards() {
-    LocalDateTime now = LocalDateTime.now();
-    LocalDateTime oneHourFromNow = now.plusHours(1);
-    return cardRepository.findByDueDateBetweenAndReminderSentFalse(now, oneHourFromNow);
-}
 
+    private static String inList(int size) {
+        return "(" + String.join(", ", Collections.nCopies(size, "?")) + ")";
+    }
 }
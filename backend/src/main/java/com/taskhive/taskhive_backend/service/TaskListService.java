@@ -3,11 +3,20 @@ package com.taskhive.taskhive_backend.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
+import com.taskhive.taskhive_backend.event.BoardChangedEvent;
+import com.taskhive.taskhive_backend.event.BoardEntityType;
 import com.taskhive.taskhive_backend.model.Board;
 import com.taskhive.taskhive_backend.model.TaskList;
 import com.taskhive.taskhive_backend.model.User;
+import com.taskhive.taskhive_backend.payload.MoveListRequest;
+import com.taskhive.taskhive_backend.repository.BoardRepository;
+import com.taskhive.taskhive_backend.repository.CardRepository;
 import com.taskhive.taskhive_backend.repository.TaskListRepository;
 
 @Service
@@ -16,22 +25,69 @@ public class TaskListService {
     @Autowired
     private TaskListRepository taskListRepository;
 
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
     @Autowired
     private ActivityLogService activityLogService;
 
+    @Autowired
+    private RankService rankService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public TaskList createTaskList(String title, Board board, User user) {
         TaskList list = new TaskList();
         list.setTitle(title);
         list.setBoard(board);
+        list.setRankKey(rankService.append(RankService.Scope.LISTS, board.getId()));
         TaskList savedList = taskListRepository.save(list);
 
         // Log the activity
-        String location = "Board: " + board.getTitle() + " → List: " + title;
-        activityLogService.logActivity(user, "created list", location);
+        activityLogService.logActivity(user, ActivityAction.CREATED_LIST, ActivityTarget.list(savedList));
 
         return savedList;
     }
 
+    /**
+     * Moves a list within its board or to another board, writing only the list's own row
+     * (its cards follow through list_id). Workspace checks are the caller's job.
+     */
+    @Transactional
+    public TaskList moveList(Long listId, MoveListRequest request, User user) {
+        TaskList list = taskListRepository.findById(listId)
+                .orElseThrow(() -> new RuntimeException("List not found with id: " + listId));
+        Board target = request.getBoardId() == null ? list.getBoard()
+                : boardRepository.findById(request.getBoardId())
+                        .orElseThrow(() -> new RuntimeException("Board not found with id: " + request.getBoardId()));
+
+        Long fromBoardId = list.getBoard().getId();
+        String rank = rankService.rankFor(RankService.Scope.LISTS, target.getId(),
+                request.getAfterListId(), request.getBeforeListId(), listId);
+
+        list.setBoard(target);
+        list.setRankKey(rank);
+        TaskList movedList = taskListRepository.save(list);
+
+        // Card rows are untouched, so announce them on both boards ourselves
+        if (!fromBoardId.equals(target.getId())) {
+            eventPublisher.publishEvent(new BoardChangedEvent(fromBoardId, BoardEntityType.LIST, listId, true));
+            for (Long cardId : cardRepository.findIdsByListId(listId)) {
+                eventPublisher.publishEvent(new BoardChangedEvent(fromBoardId, BoardEntityType.CARD, cardId, true));
+                eventPublisher.publishEvent(new BoardChangedEvent(target.getId(), BoardEntityType.CARD, cardId, false));
+            }
+        }
+
+        // Log the activity
+        activityLogService.logActivity(user, ActivityAction.MOVED_LIST, ActivityTarget.list(movedList));
+
+        return movedList;
+    }
+
     public List<TaskList> getListsByBoard(Board board) {
         return taskListRepository.findByBoard(board);
     }
@@ -14,6 +14,7 @@ import com.taskhive.taskhive_backend.model.Workspace;
 import com.taskhive.taskhive_backend.repository.UserRepository;
 import com.taskhive.taskhive_backend.repository.WorkspaceRepository;
 import com.taskhive.taskhive_backend.security.CustomUserDetails;
+import com.taskhive.taskhive_backend.security.PrincipalCache;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -21,20 +22,35 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final WorkspaceRepository workspaceRepository;
+    private final PrincipalCache principalCache;
+    private final WorkspaceMembershipService membershipService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, WorkspaceRepository workspaceRepository) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, WorkspaceRepository workspaceRepository,
+                       PrincipalCache principalCache, WorkspaceMembershipService membershipService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.workspaceRepository = workspaceRepository;
+        this.principalCache = principalCache;
+        this.membershipService = membershipService;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Served from the principal cache; only misses reach the users table
+        return principalCache.get(email, this::loadPrincipal);
+    }
+
+    private CustomUserDetails loadPrincipal(String email) {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         return new CustomUserDetails(user);
     }
 
+    // Explicit invalidation hook for changes made outside JPA (bulk updates, native SQL)
+    public void evictPrincipal(String email) {
+        principalCache.invalidate(email);
+    }
+
     @Transactional
     public User registerUser(String username, String email, String password) {
         if (userRepository.existsByEmail(email)) {
@@ -62,6 +78,7 @@ public class UserService implements UserDetailsService {
 
             workspaceRepository.save(defaultWorkspace);
             workspaceRepository.flush(); // Ensure workspace is committed
+            membershipService.membershipChanged(defaultWorkspace);
             System.out.println("Successfully created default workspace for user: " + email + " (ID: " + savedUser.getId() + ")");
         } catch (Exception e) {
             // If workspace creation fails, still return the user but log the error
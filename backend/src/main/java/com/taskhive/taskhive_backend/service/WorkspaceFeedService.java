@@ -0,0 +1,234 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskhive.taskhive_backend.model.ActivityLog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-workspace activity feeds, written on fan-out and merged on read.
+ *
+ * <p>When the activity writer saves an entry that belongs to a workspace, a row is appended
+ * to workspace_feed in the same transaction. The newest feed.tail-size items of recently read
+ * workspaces are also kept in memory, and appended to after commit (a tail that was still
+ * loading then is dropped, since it may predate the new rows). A read merges the
+ * newest-first streams of the caller's workspaces (k-way, stopping at the page size). Each
+ * stream is served from the tail, or from one index range scan once a page goes deeper. The
+ * cost therefore depends on the page size and the number of workspaces, not on how much
+ * history exists. Tails are per instance and expire after feed.tail-ttl-seconds, which bounds
+ * how stale they get with several instances writing.
+ */
+@Service
+public class WorkspaceFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkspaceFeedService.class);
+
+    /** One feed position: an activity entry and its timestamp. */
+    public record FeedItem(long activityId, LocalDateTime timestamp) {
+    }
+
+    public static final Comparator<FeedItem> NEWEST_FIRST = Comparator
+            .comparing(FeedItem::timestamp)
+            .thenComparingLong(FeedItem::activityId)
+            .reversed();
+
+    private static final String INSERT_SQL =
+            "insert into workspace_feed (id, workspace_id, activity_id, \"timestamp\") values (?, ?, ?, ?)";
+
+    // WorkspaceFeedEntry's sequence and its allocationSize. Like Hibernate's pooled optimizer,
+    // each nextval value v reserves the IDs v - 49 .. v.
+    private static final String NEXT_BLOCK_SQL = "select nextval('workspace_feed_seq')";
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String SELECT_SQL =
+            "select activity_id, \"timestamp\" from workspace_feed where workspace_id = ?";
+
+    private static final String ORDER_SQL = " order by \"timestamp\" desc, activity_id desc limit ?";
+
+    // Newest items of one workspace; complete when the table held no more than these
+    private static final class Tail {
+        private final TreeSet<FeedItem> items = new TreeSet<>(NEWEST_FIRST);
+        private boolean complete;
+    }
+
+    // A workspace stream during a merge
+    private record Stream(Iterator<FeedItem> items, FeedItem head) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, Tail> tails;
+    private final int tailSize;
+    private final Duration retention;
+    private final Object idLock = new Object();
+    private long nextId;
+    private long lastId = -1;
+
+    public WorkspaceFeedService(JdbcTemplate jdbcTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${feed.tail-size:100}") int tailSize,
+                                @Value("${feed.cache.max-workspaces:10000}") long maxWorkspaces,
+                                @Value("${feed.tail-ttl-seconds:60}") long tailTtlSeconds,
+                                @Value("${feed.retention-days:30}") long retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tailSize = tailSize;
+        this.retention = Duration.ofDays(retentionDays);
+        this.tails = Caffeine.newBuilder()
+                .maximumSize(maxWorkspaces)
+                .expireAfterWrite(Duration.ofSeconds(tailTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tails, "workspaceFeedTails");
+    }
+
+    /** Fans saved activity entries out to their workspace feeds; runs in the writer's transaction. */
+    public void append(List<ActivityLog> logs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (ActivityLog log : logs) {
+            if (log.getWorkspaceId() != null && log.getId() != null && log.getTimestamp() != null) {
+                rows.add(new Object[] {log.getWorkspaceId(), log.getId(), Timestamp.valueOf(log.getTimestamp())});
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> inserts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            inserts.add(new Object[] {nextId(), row[0], row[1], row[2]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+
+        Runnable updateTails = () -> {
+            for (Object[] row : rows) {
+                Tail tail = tails.getIfPresent((Long) row[0]);
+                if (tail == null) {
+                    // A tail loading now may have read the table before this commit. Invalidating
+                    // waits for that load and discards it; with none in flight it does nothing.
+                    tails.invalidate(row[0]);
+                } else {
+                    synchronized (tail) {
+                        tail.items.add(new FeedItem((Long) row[1], ((Timestamp) row[2]).toLocalDateTime()));
+                        if (tail.items.size() > tailSize) {
+                            tail.items.pollLast();
+                            tail.complete = false;
+                        }
+                    }
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    updateTails.run();
+                }
+            });
+        } else {
+            updateTails.run();
+        }
+    }
+
+    /**
+     * Up to {@code limit} items of the given workspaces' feeds, newest first, strictly older
+     * than {@code before} (null: from the top).
+     */
+    public List<FeedItem> newest(long[] workspaceIds, FeedItem before, int limit) {
+        PriorityQueue<Stream> heads = new PriorityQueue<>(Math.max(workspaceIds.length, 1),
+                Comparator.comparing(Stream::head, NEWEST_FIRST));
+        for (long workspaceId : workspaceIds) {
+            Iterator<FeedItem> items = itemsOf(workspaceId, before, limit).iterator();
+            if (items.hasNext()) {
+                heads.add(new Stream(items, items.next()));
+            }
+        }
+        List<FeedItem> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Stream stream = heads.poll();
+            merged.add(stream.head());
+            if (stream.items().hasNext()) {
+                heads.add(new Stream(stream.items(), stream.items().next()));
+            }
+        }
+        return merged;
+    }
+
+    @Scheduled(fixedDelayString = "${feed.compaction-interval-ms:3600000}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int removed = jdbcTemplate.update("delete from workspace_feed where \"timestamp\" < ?", Timestamp.valueOf(cutoff));
+        if (removed > 0) {
+            logger.info("Removed {} workspace feed rows older than {}", removed, cutoff);
+        }
+    }
+
+    // Newest-first items of one workspace older than before, at most limit of them
+    private List<FeedItem> itemsOf(long workspaceId, FeedItem before, int limit) {
+        Tail tail = tails.get(workspaceId, this::loadTail);
+        List<FeedItem> items = new ArrayList<>(limit);
+        synchronized (tail) {
+            Iterable<FeedItem> candidates = before == null ? tail.items : tail.items.tailSet(before, false);
+            for (FeedItem item : candidates) {
+                if (items.size() == limit) {
+                    return items;
+                }
+                items.add(item);
+            }
+            if (tail.complete) {
+                return items;
+            }
+        }
+        // Deeper than the tail: continue from the table
+        FeedItem from = items.isEmpty() ? before : items.get(items.size() - 1);
+        items.addAll(query(workspaceId, from, limit - items.size()));
+        return items;
+    }
+
+    // One sequence call per ALLOCATION_SIZE rows; IDs left in a block at shutdown are skipped
+    private long nextId() {
+        synchronized (idLock) {
+            if (nextId > lastId) {
+                lastId = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+                nextId = lastId - ALLOCATION_SIZE + 1;
+            }
+            return nextId++;
+        }
+    }
+
+    private Tail loadTail(Long workspaceId) {
+        Tail tail = new Tail();
+        List<FeedItem> items = query(workspaceId, null, tailSize + 1);
+        tail.complete = items.size() <= tailSize;
+        tail.items.addAll(items.subList(0, Math.min(items.size(), tailSize)));
+        return tail;
+    }
+
+    private List<FeedItem> query(long workspaceId, FeedItem before, int limit) {
+        if (before == null) {
+            return jdbcTemplate.query(SELECT_SQL + ORDER_SQL, (rs, rowNum) -> new FeedItem(rs.getLong(1),
+                    rs.getTimestamp(2).toLocalDateTime()), workspaceId, limit);
+        }
+        return jdbcTemplate.query(SELECT_SQL + " and (\"timestamp\", activity_id) < (?, ?)" + ORDER_SQL,
+                (rs, rowNum) -> new FeedItem(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()),
+                workspaceId, Timestamp.valueOf(before.timestamp()), before.activityId(), limit);
+    }
+}
@@ -0,0 +1,179 @@
+package com.taskhive.taskhive_backend.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskhive.taskhive_backend.event.MembershipChangedEvent;
+import com.taskhive.taskhive_backend.model.User;
+import com.taskhive.taskhive_backend.model.Workspace;
+import com.taskhive.taskhive_backend.repository.BoardRepository;
+import com.taskhive.taskhive_backend.repository.CardRepository;
+import com.taskhive.taskhive_backend.repository.TaskListRepository;
+import com.taskhive.taskhive_backend.repository.UserRepository;
+import com.taskhive.taskhive_backend.repository.WorkspaceRepository;
+import com.taskhive.taskhive_backend.security.CustomUserDetails;
+import com.taskhive.taskhive_backend.security.PrincipalCache;
+import com.taskhive.taskhive_backend.security.TokenAuthenticationDetails;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Answers "is user U a member of workspace W" without initializing Workspace.users.
+ * Each user's workspace IDs are kept as a sorted long[] (one indexed query on
+ * workspace_users per miss), and board/list/card checks resolve the owning workspace
+ * with a single id-only query. When the caller's token carries current workspace claims
+ * (see JwtService#generateToken(String, long[], long)) their own checks are answered from
+ * the token instead. Call {@link #membershipChanged(Collection)} whenever membership changes.
+ */
+@Service
+public class WorkspaceMembershipService {
+
+    private static final long[] NO_WORKSPACES = new long[0];
+
+    private final WorkspaceRepository workspaceRepository;
+    private final BoardRepository boardRepository;
+    private final TaskListRepository taskListRepository;
+    private final CardRepository cardRepository;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, long[]> workspaceIdsByUser;
+
+    public WorkspaceMembershipService(WorkspaceRepository workspaceRepository,
+                                      BoardRepository boardRepository,
+                                      TaskListRepository taskListRepository,
+                                      CardRepository cardRepository,
+                                      UserRepository userRepository,
+                                      PrincipalCache principalCache,
+                                      ApplicationEventPublisher eventPublisher,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${membership.cache.max-entries:10000}") long maxEntries,
+                                      @Value("${membership.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.workspaceRepository = workspaceRepository;
+        this.boardRepository = boardRepository;
+        this.taskListRepository = taskListRepository;
+        this.cardRepository = cardRepository;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.eventPublisher = eventPublisher;
+        this.workspaceIdsByUser = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, workspaceIdsByUser, "workspaceMembership");
+    }
+
+    /** Sorted IDs of every workspace the user belongs to. */
+    public long[] getWorkspaceIds(Long userId) {
+        if (userId == null) {
+            return NO_WORKSPACES;
+        }
+        return workspaceIdsByUser.get(userId, id -> workspaceRepository.findIdsByMemberId(id).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray());
+    }
+
+    public boolean isMember(Long userId, Long workspaceId) {
+        if (workspaceId == null) {
+            return false;
+        }
+        long[] workspaceIds = workspaceIdsFromToken(userId);
+        if (workspaceIds == null) {
+            workspaceIds = getWorkspaceIds(userId);
+        }
+        return Arrays.binarySearch(workspaceIds, workspaceId) >= 0;
+    }
+
+    public boolean isMemberOfBoard(Long userId, Long boardId) {
+        return findWorkspaceIdOfBoard(boardId).map(ws -> isMember(userId, ws)).orElse(false);
+    }
+
+    public boolean isMemberOfList(Long userId, Long listId) {
+        return findWorkspaceIdOfList(listId).map(ws -> isMember(userId, ws)).orElse(false);
+    }
+
+    public boolean isMemberOfCard(Long userId, Long cardId) {
+        return findWorkspaceIdOfCard(cardId).map(ws -> isMember(userId, ws)).orElse(false);
+    }
+
+    // Empty when the board/list/card does not exist (or is not attached to a workspace)
+    public Optional<Long> findWorkspaceIdOfBoard(Long boardId) {
+        return boardRepository.findWorkspaceIdById(boardId);
+    }
+
+    public Optional<Long> findWorkspaceIdOfList(Long listId) {
+        return taskListRepository.findWorkspaceIdById(listId);
+    }
+
+    public Optional<Long> findWorkspaceIdOfCard(Long cardId) {
+        return cardRepository.findWorkspaceIdById(cardId);
+    }
+
+    public void evictUser(Long userId) {
+        if (userId != null) {
+            workspaceIdsByUser.invalidate(userId);
+        }
+    }
+
+    /**
+     * Invalidates cached memberships for the given users and bumps their membership version,
+     * which makes tokens issued with the old workspace claims fall back to the database. Pass
+     * every affected user, including removed ones: their open board streams are closed too
+     * (see BoardEventHub).
+     */
+    public void membershipChanged(Collection<User> users) {
+        List<Long> userIds = users.stream().map(User::getId).filter(Objects::nonNull).toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.incrementMembershipVersion(userIds);
+        // The bulk update bypasses loaded entities; copy the new versions onto them
+        Map<Long, Long> versions = new HashMap<>();
+        for (Object[] row : userRepository.findMembershipVersions(userIds)) {
+            versions.put((Long) row[0], (Long) row[1]);
+        }
+        for (User user : users) {
+            Long version = versions.get(user.getId());
+            if (version != null) {
+                user.setMembershipVersion(version);
+            }
+            evictUser(user.getId());
+            // The bulk update bypasses the entity listener, so drop the principal explicitly
+            principalCache.invalidate(user.getEmail());
+        }
+        eventPublisher.publishEvent(new MembershipChangedEvent(userIds));
+    }
+
+    public void membershipChanged(Workspace workspace) {
+        membershipChanged(workspace.getUsers());
+    }
+
+    // Only trusted for the authenticated caller, and only when the token version is current
+    private long[] workspaceIdsFromToken(Long userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getDetails() instanceof TokenAuthenticationDetails details
+                && authentication.getPrincipal() instanceof CustomUserDetails principal
+                && Objects.equals(principal.getUser().getId(), userId)) {
+            return details.getWorkspaceIds();
+        }
+        return null;
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
 import com.taskhive.taskhive_backend.model.User;
 import com.taskhive.taskhive_backend.model.Workspace;
 import com.taskhive.taskhive_backend.repository.UserRepository;
@@ -26,13 +28,17 @@ public class WorkspaceService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private WorkspaceMembershipService membershipService;
+
     public Workspace createWorkspace(Workspace workspace) {
         Workspace savedWorkspace = workspaceRepository.save(workspace);
+        membershipService.membershipChanged(savedWorkspace);
 
         activityLogService.logActivity(
             workspace.getOwner(),
-            "Created workspace",
-            "Workspace: " + savedWorkspace.getName()
+            ActivityAction.CREATED_WORKSPACE,
+            ActivityTarget.workspace(savedWorkspace)
         );
 
         return savedWorkspace;
@@ -68,8 +74,9 @@ public class WorkspaceService {
             try {
                 activityLogService.logActivity(
                     userToInvite,
-                    "Invited user",
-                    "Invited " + email + " to TaskHive"
+                    ActivityAction.INVITED_USER,
+                    null,
+                    email
                 );
             } catch (Exception e) {
                 System.out.println("Error logging activity: " + e.getMessage());
@@ -84,8 +91,9 @@ public class WorkspaceService {
                     System.out.println("Found user for activity logging: " + anyUser.get().getEmail());
                     activityLogService.logActivity(
                         anyUser.get(),
-                        "Invited user",
-                        "Invited " + email + " to TaskHive (user not registered yet)"
+                        ActivityAction.INVITED_USER,
+                        null,
+                        email + " (user not registered yet)"
                     );
                 } else {
                     System.out.println("No users found for activity logging");
@@ -102,6 +110,26 @@ public class WorkspaceService {
         return dummyWorkspace;
     }
 
+    /**
+     * Sets how many days of activity history the workspace keeps (null: the server default).
+     * Only the owner may change it.
+     *
+     * @throws IllegalArgumentException if the workspace does not exist or days is not positive
+     * @throws SecurityException if the user is not the workspace owner
+     */
+    public Workspace setActivityRetention(Long workspaceId, Integer days, User user) {
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new IllegalArgumentException("Workspace not found with id: " + workspaceId));
+        if (workspace.getOwner() == null || !workspace.getOwner().getId().equals(user.getId())) {
+            throw new SecurityException("Only the workspace owner can change activity retention");
+        }
+        if (days != null && days <= 0) {
+            throw new IllegalArgumentException("Retention must be a positive number of days");
+        }
+        workspace.setActivityRetentionDays(days);
+        return workspaceRepository.save(workspace);
+    }
+
     public List<Workspace> getWorkspacesByUser(User user) {
         return workspaceRepository.findByUsersContaining(user);
     }
@@ -0,0 +1,87 @@
+package com.taskhive.taskhive_backend.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Min-heap of IDs keyed by deadline, where each ID holds at most one deadline.
+ *
+ * <p>Rescheduling or cancelling an ID does not search the heap. The current deadline lives in
+ * a map, and a heap entry that no longer matches it is dropped when it reaches the top. Once
+ * stale entries outnumber live ones, the heap is rebuilt from the map. The class is not
+ * thread-safe.
+ */
+public final class DeadlineQueue {
+
+    private record Entry(LocalDateTime deadline, long id) {
+    }
+
+    private static final Comparator<Entry> EARLIEST_FIRST = Comparator
+            .comparing(Entry::deadline)
+            .thenComparingLong(Entry::id);
+
+    private PriorityQueue<Entry> heap = new PriorityQueue<>(EARLIEST_FIRST);
+    private final Map<Long, LocalDateTime> deadlines = new HashMap<>();
+
+    /** Sets or moves the deadline of {@code id}. */
+    public void schedule(long id, LocalDateTime deadline) {
+        if (!deadline.equals(deadlines.put(id, deadline))) {
+            heap.add(new Entry(deadline, id));
+            compactIfStale();
+        }
+    }
+
+    public void cancel(long id) {
+        if (deadlines.remove(id) != null) {
+            compactIfStale();
+        }
+    }
+
+    /** The earliest deadline, or null when nothing is scheduled. */
+    public LocalDateTime nextDeadline() {
+        skipStale();
+        return heap.isEmpty() ? null : heap.peek().deadline();
+    }
+
+    /** Removes and returns up to {@code max} IDs whose deadline is not after {@code now}, earliest first. */
+    public List<Long> pollDue(LocalDateTime now, int max) {
+        List<Long> due = new ArrayList<>();
+        while (due.size() < max) {
+            skipStale();
+            Entry head = heap.peek();
+            if (head == null || head.deadline().isAfter(now)) {
+                break;
+            }
+            heap.poll();
+            deadlines.remove(head.id());
+            due.add(head.id());
+        }
+        return due;
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    private void skipStale() {
+        Entry head;
+        while ((head = heap.peek()) != null && !head.deadline().equals(deadlines.get(head.id()))) {
+            heap.poll();
+        }
+    }
+
+    private void compactIfStale() {
+        if (heap.size() > 2 * deadlines.size() + 64) {
+            List<Entry> live = new ArrayList<>(deadlines.size());
+            deadlines.forEach((id, deadline) -> live.add(new Entry(deadline, id)));
+            PriorityQueue<Entry> rebuilt = new PriorityQueue<>(Math.max(live.size(), 1), EARLIEST_FIRST);
+            rebuilt.addAll(live);
+            heap = rebuilt;
+        }
+    }
+}
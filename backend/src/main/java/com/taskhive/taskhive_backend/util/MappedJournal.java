@@ -0,0 +1,243 @@
+package com.taskhive.taskhive_backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of byte records in memory-mapped segment files.
+ *
+ * <p>Positions are byte offsets into the whole log, so they keep growing across segments. Each
+ * segment file is preallocated at a fixed size and named after the position it starts at. A
+ * record is {@code [length][crc32c][payload]}. A zero length marks the unwritten end of a
+ * segment, and {@code -1} marks that the rest of the segment is unused and the next one follows.
+ * One lock serializes appends. Readers never take it and see records up to the published end.
+ * Opening a journal scans the last segment until a record is missing or fails its CRC, and
+ * zeroes what follows, so a write torn by a crash is discarded.
+ *
+ * <p>Writes land in the page cache. They survive a process crash at once, and a crash of the
+ * machine once {@link #force()} has run.
+ */
+public final class MappedJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int ROLL = -1;
+    private static final String SUFFIX = ".seg";
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    /** The records found from some position on, and the position after the last of them. */
+    public record Batch(List<byte[]> records, long next) {
+    }
+
+    private record Segment(long base, Path path, MappedByteBuffer buffer) {
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        long limit() {
+            return base + buffer.capacity();
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object appendLock = new Object();
+    private Segment active;
+    private volatile long end;
+
+    /**
+     * Opens the journal in {@code directory}, creating its first segment at {@code startPosition}
+     * if there is none yet.
+     */
+    public MappedJournal(Path directory, int segmentSize, long startPosition) throws IOException {
+        if (segmentSize < 2 * HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                segments.put(base, map(base, file, Files.size(file)));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(startPosition, create(startPosition));
+        }
+        this.active = segments.lastEntry().getValue();
+        this.end = recover(active);
+    }
+
+    /** Appends one record; returns the position just after it. */
+    public long append(byte[] record) {
+        if (record.length == 0 || HEADER_BYTES + record.length > segmentSize) {
+            throw new IllegalArgumentException("Record size out of range: " + record.length);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record);
+        synchronized (appendLock) {
+            int offset = (int) (end - active.base());
+            if (offset + HEADER_BYTES + record.length > active.capacity()) {
+                if (offset + Integer.BYTES <= active.capacity()) {
+                    active.buffer().putInt(offset, ROLL);
+                }
+                roll();
+                offset = 0;
+            }
+            MappedByteBuffer buffer = active.buffer();
+            buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+            buffer.put(offset + HEADER_BYTES, record);
+            // The length goes last: a reader or a recovery scan never sees half a record
+            buffer.putInt(offset, record.length);
+            end = active.base() + offset + HEADER_BYTES + record.length;
+            return end;
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} records starting at {@code from}, a position returned by
+     * {@link #append} or {@link Batch#next()}.
+     *
+     * @throws IllegalStateException if a record before the end fails its check (see {@link #skipSegment})
+     */
+    public Batch read(long from, int maxRecords) {
+        List<byte[]> records = new ArrayList<>();
+        long position = from;
+        long limit = end;
+        while (records.size() < maxRecords && position < limit) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+            if (entry == null) {
+                throw new IllegalArgumentException("Position " + position + " is before the journal start");
+            }
+            Segment segment = entry.getValue();
+            int offset = (int) (position - segment.base());
+            if (offset + HEADER_BYTES > segment.capacity()) {
+                position = segment.limit();
+                continue;
+            }
+            int length = segment.buffer().getInt(offset);
+            if (length == ROLL) {
+                position = segment.limit();
+                continue;
+            }
+            byte[] record = readRecord(segment, offset, length);
+            if (record == null) {
+                throw new IllegalStateException("Corrupt journal record at position " + position);
+            }
+            records.add(record);
+            position += HEADER_BYTES + length;
+        }
+        return new Batch(records, position);
+    }
+
+    /** The start of the segment after the one holding {@code position}, to step over damage. */
+    public long skipSegment(long position) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+        return entry == null ? position : Math.min(entry.getValue().limit(), end);
+    }
+
+    /** Position of the oldest record still kept. */
+    public long start() {
+        return segments.firstKey();
+    }
+
+    /** Position after the newest record. */
+    public long end() {
+        return end;
+    }
+
+    /**
+     * Deletes the segments that lie wholly before {@code position}. The mappings are released
+     * once they are garbage collected; Linux keeps deleted files readable until then.
+     */
+    public void deleteBefore(long position) throws IOException {
+        for (Segment segment : segments.headMap(position).values()) {
+            if (segment.limit() > position || segment == active) {
+                break;
+            }
+            segments.remove(segment.base());
+            Files.deleteIfExists(segment.path());
+        }
+    }
+
+    /** Flushes written pages to disk. */
+    public void force() {
+        for (Segment segment : segments.values()) {
+            segment.buffer().force();
+        }
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    // Runs under appendLock
+    private void roll() {
+        long base = active.limit();
+        try {
+            Segment next = create(base);
+            segments.put(base, next);
+            active = next;
+            end = base;
+        } catch (IOException e) {
+            throw new IllegalStateException("Creating journal segment at " + base + " failed", e);
+        }
+    }
+
+    private long recover(Segment segment) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.buffer().getInt(offset);
+            if (length <= 0 || readRecord(segment, offset, length) == null) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        // Unwritten space is zero already; anything else is the remains of a torn write
+        if (offset + Integer.BYTES <= segment.capacity() && segment.buffer().getInt(offset) != 0) {
+            for (int i = offset; i < segment.capacity(); i += ZEROS.length) {
+                segment.buffer().put(i, ZEROS, 0, Math.min(ZEROS.length, segment.capacity() - i));
+            }
+            segment.buffer().force();
+        }
+        return segment.base() + offset;
+    }
+
+    private static byte[] readRecord(Segment segment, int offset, int length) {
+        if (length <= 0 || offset + HEADER_BYTES + length > segment.capacity()) {
+            return null;
+        }
+        byte[] record = new byte[length];
+        segment.buffer().get(offset + HEADER_BYTES, record);
+        CRC32C crc = new CRC32C();
+        crc.update(record);
+        return (int) crc.getValue() == segment.buffer().getInt(offset + Integer.BYTES) ? record : null;
+    }
+
+    private Segment create(long base) throws IOException {
+        return map(base, directory.resolve(String.format("%020d%s", base, SUFFIX)), segmentSize);
+    }
+
+    private static Segment map(long base, Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return new Segment(base, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.taskhive.taskhive_backend.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque base64url strings. A cursor is a version byte followed
+ * by the sort key values of the last row a client has seen, so clients treat it as a token
+ * and the format can change without silently misreading old cursors.
+ */
+public final class PageCursor {
+
+    private static final byte VERSION = 1;
+    private static final byte KEYED_VERSION = 2;
+
+    /** Position in an ordering by (text key, id), e.g. (rank_key, id). */
+    public record KeyedPosition(String key, long id) {
+    }
+
+    private PageCursor() {
+    }
+
+    public static String encode(long... keys) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + keys.length * Long.BYTES);
+        buffer.put(VERSION);
+        for (long key : keys) {
+            buffer.putLong(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or has a different shape
+     */
+    public static long[] decode(String cursor, int expectedKeys) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length != 1 + expectedKeys * Long.BYTES || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        long[] keys = new long[expectedKeys];
+        for (int i = 0; i < expectedKeys; i++) {
+            keys[i] = buffer.getLong();
+        }
+        return keys;
+    }
+
+    public static String encodeKeyed(String key, long id) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES + keyBytes.length);
+        buffer.put(KEYED_VERSION).putLong(id).put(keyBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or not a keyed cursor
+     */
+    public static KeyedPosition decodeKeyed(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (bytes.length < 1 + Long.BYTES || bytes[0] != KEYED_VERSION) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        long id = buffer.getLong();
+        String key = new String(bytes, 1 + Long.BYTES, bytes.length - 1 - Long.BYTES, StandardCharsets.UTF_8);
+        return new KeyedPosition(key, id);
+    }
+
+    // Timestamps travel as UTC epoch microseconds, the precision PostgreSQL stores
+    public static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    public static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,138 @@
+package com.taskhive.taskhive_backend.util;
+
+import java.math.BigInteger;
+
+/**
+ * Fractional rank keys (LexoRank-style) for ordering cards and lists.
+ *
+ * <p>A key is a base-62 fraction written with the digits {@code 0-9A-Za-z}, whose ASCII order
+ * matches the digit order, so keys sort correctly with byte-wise comparison (String#compareTo,
+ * and {@code COLLATE "C"} in PostgreSQL). A key never ends in {@code 0}, which guarantees
+ * there is always room before it, so {@link #between} always finds a key and moving an item
+ * only rewrites that one row. Keys grow by about one character per halving of a gap;
+ * {@link #spread} re-spaces a whole container when they get long.
+ */
+public final class RankKey {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    /** Rank given to rows that existed before ranks were introduced; ties break by id. */
+    public static final String LEGACY = "U";
+
+    private RankKey() {
+    }
+
+    /**
+     * A key strictly between {@code lo} and {@code hi}; null means "before everything" or
+     * "after everything" respectively.
+     *
+     * @throws IllegalArgumentException if {@code lo >= hi}
+     */
+    public static String between(String lo, String hi) {
+        String a = lo == null ? "" : lo;
+        if (hi != null && a.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("Rank " + lo + " is not below " + hi);
+        }
+        return midpoint(a, hi);
+    }
+
+    /** {@code count} evenly spaced, strictly increasing keys, as short as the count allows. */
+    public static String[] spread(int count) {
+        return spread(null, null, count);
+    }
+
+    /**
+     * {@code count} evenly spaced, strictly increasing keys strictly between {@code lo} and
+     * {@code hi} (null: unbounded), as short as the gap and the count allow.
+     *
+     * @throws IllegalArgumentException if {@code lo >= hi}
+     */
+    public static String[] spread(String lo, String hi, int count) {
+        String a = lo == null ? "" : lo;
+        if (hi != null && a.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("Rank " + lo + " is not below " + hi);
+        }
+        // Work on the first `width` digits of both bounds. Any value above a's truncation is
+        // above a, and any value below hi's truncation is below hi. Widen until there are at
+        // least BASE values between neighbours, so later inserts stay short.
+        BigInteger base = BigInteger.valueOf(BASE);
+        BigInteger slots = BigInteger.valueOf(count + 1L);
+        int width = 1;
+        BigInteger low = truncate(a, width);
+        BigInteger high = hi == null ? base : truncate(hi, width);
+        while (high.subtract(low).divide(slots).compareTo(base) < 0) {
+            width++;
+            low = truncate(a, width);
+            high = hi == null ? high.multiply(base) : truncate(hi, width);
+        }
+        BigInteger step = high.subtract(low).divide(slots);
+
+        String[] keys = new String[count];
+        BigInteger value = low;
+        for (int i = 0; i < count; i++) {
+            value = value.add(step);
+            keys[i] = format(value, width);
+        }
+        return keys;
+    }
+
+    // The first `width` digits of key as a number (missing digits are zeros)
+    private static BigInteger truncate(String key, int width) {
+        BigInteger value = BigInteger.ZERO;
+        BigInteger base = BigInteger.valueOf(BASE);
+        for (int i = 0; i < width; i++) {
+            int digit = i < key.length() ? digit(key.charAt(i)) : 0;
+            value = value.multiply(base).add(BigInteger.valueOf(digit));
+        }
+        return value;
+    }
+
+    // Fixed-width base-62 digits of value, with trailing zeros dropped (same order, shorter)
+    private static String format(BigInteger value, int width) {
+        BigInteger base = BigInteger.valueOf(BASE);
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            BigInteger[] quotientAndRemainder = value.divideAndRemainder(base);
+            chars[i] = DIGITS.charAt(quotientAndRemainder[1].intValue());
+            value = quotientAndRemainder[0];
+        }
+        int length = width;
+        while (length > 1 && chars[length - 1] == '0') {
+            length--;
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // Skip the common prefix (a is implicitly padded with zeros)
+            int n = 0;
+            while (n < b.length() && (n < a.length() ? a.charAt(n) : '0') == b.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(n < a.length() ? a.substring(n) : "", b.substring(n));
+            }
+        }
+
+        int digitA = a.isEmpty() ? 0 : digit(a.charAt(0));
+        int digitB = b != null ? digit(b.charAt(0)) : BASE;
+        if (digitB - digitA > 1) {
+            return String.valueOf(DIGITS.charAt((digitA + digitB) / 2));
+        }
+        // Adjacent first digits: b's first digit alone is already between, if b is longer
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(digitA) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return digit;
+    }
+}
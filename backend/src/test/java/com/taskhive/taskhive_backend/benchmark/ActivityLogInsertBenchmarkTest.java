@@ -0,0 +1,125 @@
+package com.taskhive.taskhive_backend.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.taskhive.taskhive_backend.event.ActivityAction;
+import com.taskhive.taskhive_backend.event.ActivityEvent;
+import com.taskhive.taskhive_backend.event.ActivityTarget;
+import com.taskhive.taskhive_backend.service.ActivityLogStore;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Activity-log insert throughput with the application's own mapping and settings: entries
+ * saved through ActivityLogStore (pooled activity_log_seq, hibernate.jdbc.batch_size,
+ * order_inserts, the datasource's reWriteBatchedInserts), against the same rows persisted
+ * with an IDENTITY key ({@link IdentityActivityLog}). Hibernate statistics check the
+ * statement counts, so reverting the sequence mapping or the batch size fails the test and
+ * not just the timing.
+ *
+ * <p>Starts the full context against spring.datasource.url, so it only runs when asked for,
+ * preferably against a scratch database:
+ * <pre>
+ * mvn test -Dtest=ActivityLogInsertBenchmarkTest -Dbenchmark=true \
+ *     -Dspring.datasource.url=jdbc:postgresql://localhost:5432/taskhive_bench?reWriteBatchedInserts=true
+ * </pre>
+ * The schema update adds the benchmark_activity_log_identity table. Every round is rolled
+ * back, so no rows are left behind.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ActivityLogInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogInsertBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+    // hibernate.jdbc.batch_size, and the allocationSize of activity_log_seq
+    private static final int BATCH_SIZE = 50;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private ActivityLogStore activityLogStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void pooledSequenceBatchesOutperformIdentityInserts() {
+        List<ActivityEvent> events = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            // No workspace, so ActivityLogStore writes no feed rows and both sides insert one row per entry
+            events.add(new ActivityEvent(null, ActivityAction.MOVED_CARD,
+                    new ActivityTarget("Card", (long) i, null, 100L + i % 200, (long) i, (long) i),
+                    null, null, null, now));
+        }
+
+        // The first round warms up the JIT, the connection pool and the server's plan cache
+        long identityNanos = Long.MAX_VALUE;
+        long batchedNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            statistics.clear();
+            long started = System.nanoTime();
+            for (ActivityEvent event : events) {
+                ActivityTarget target = event.target();
+                entityManager.persist(new IdentityActivityLog(event.action().code(), target.type(), target.id(),
+                        target.boardId(), target.listId(), target.cardId(), event.timestamp()));
+            }
+            entityManager.flush();
+            identityNanos = Math.min(identityNanos, System.nanoTime() - started);
+            // IDENTITY: every row is its own INSERT, run at persist time to read the key back
+            assertEquals(ROWS, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() >= ROWS,
+                    "IDENTITY inserts were batched: " + statistics.getPrepareStatementCount() + " statements");
+            entityManager.clear();
+
+            statistics.clear();
+            started = System.nanoTime();
+            activityLogStore.save(events);
+            batchedNanos = Math.min(batchedNanos, System.nanoTime() - started);
+            // Pooled sequence: one nextval per BATCH_SIZE ids, and one INSERT statement per batch
+            long batches = (ROWS + BATCH_SIZE - 1) / BATCH_SIZE;
+            assertEquals(ROWS, statistics.getEntityInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() <= 2 * batches + 2,
+                    "Expected at most " + (2 * batches + 2) + " statements for " + ROWS + " batched inserts, got "
+                            + statistics.getPrepareStatementCount());
+            entityManager.clear();
+        }
+
+        String result = String.format("activity_log inserts, %d rows: IDENTITY %.0f rows/s, pooled sequence + batch"
+                        + " %.0f rows/s (%.1fx)", ROWS, rowsPerSecond(identityNanos), rowsPerSecond(batchedNanos),
+                (double) identityNanos / batchedNanos);
+        logger.info(result);
+        assertTrue(batchedNanos < identityNanos, result);
+    }
+
+    private static double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1e9);
+    }
+}
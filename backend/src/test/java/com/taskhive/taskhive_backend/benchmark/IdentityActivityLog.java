@@ -0,0 +1,68 @@
+package com.taskhive.taskhive_backend.benchmark;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The baseline for ActivityLogInsertBenchmarkTest: activity_log's columns with an IDENTITY
+ * key, as ActivityLog was mapped before it moved to a pooled sequence.
+ */
+@Entity
+@Table(name = "benchmark_activity_log_identity")
+public class IdentityActivityLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "action_code")
+    private Short actionCode;
+
+    private String action;
+
+    private String targetType;
+
+    private Long targetId;
+
+    @Column(name = "workspace_id")
+    private Long workspaceId;
+
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(name = "list_id")
+    private Long listId;
+
+    @Column(name = "card_id")
+    private Long cardId;
+
+    private String payload;
+
+    private String location;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    protected IdentityActivityLog() {
+    }
+
+    IdentityActivityLog(Short actionCode, String targetType, Long targetId, Long boardId, Long listId, Long cardId,
+                        LocalDateTime timestamp) {
+        this.actionCode = actionCode;
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.boardId = boardId;
+        this.listId = listId;
+        this.cardId = cardId;
+        this.timestamp = timestamp;
+    }
+}
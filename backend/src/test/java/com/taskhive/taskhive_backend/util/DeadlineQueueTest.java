@@ -0,0 +1,132 @@
+package com.taskhive.taskhive_backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DeadlineQueueTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Test
+    void pollsDueIdsEarliestFirst() {
+        DeadlineQueue queue = new DeadlineQueue();
+        queue.schedule(3, T0.plusMinutes(3));
+        queue.schedule(1, T0.plusMinutes(1));
+        queue.schedule(4, T0.plusMinutes(10));
+        queue.schedule(2, T0.plusMinutes(1));
+
+        assertEquals(T0.plusMinutes(1), queue.nextDeadline());
+        assertEquals(List.of(1L, 2L), queue.pollDue(T0.plusMinutes(5), 2));
+        assertEquals(List.of(3L), queue.pollDue(T0.plusMinutes(5), 10));
+        assertTrue(queue.pollDue(T0.plusMinutes(5), 10).isEmpty());
+        assertEquals(1, queue.size());
+        assertEquals(List.of(4L), queue.pollDue(T0.plusMinutes(10), 10));
+        assertNull(queue.nextDeadline());
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceTheOldDeadline() {
+        DeadlineQueue queue = new DeadlineQueue();
+        queue.schedule(1, T0.plusMinutes(1));
+        queue.schedule(2, T0.plusMinutes(2));
+        queue.schedule(3, T0.plusMinutes(3));
+
+        queue.schedule(1, T0.plusMinutes(30));
+        queue.schedule(3, T0);
+        queue.cancel(2);
+        queue.cancel(42);
+
+        assertEquals(2, queue.size());
+        assertEquals(T0, queue.nextDeadline());
+        assertEquals(List.of(3L), queue.pollDue(T0.plusMinutes(29), 10));
+        assertEquals(List.of(1L), queue.pollDue(T0.plusMinutes(30), 10));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void schedulingTheSameDeadlineTwiceYieldsTheIdOnce() {
+        DeadlineQueue queue = new DeadlineQueue();
+        queue.schedule(1, T0);
+        queue.schedule(1, T0.plusMinutes(1));
+        queue.schedule(1, T0);
+
+        assertEquals(List.of(1L), queue.pollDue(T0.plusMinutes(1), 10));
+        assertTrue(queue.pollDue(T0.plusMinutes(1), 10).isEmpty());
+    }
+
+    /*
+     * Two hours of reminders for 300k cards, the way ReminderService drives the queue: every
+     * card scheduled, a third of them moved (some earlier, some later) and a tenth cancelled,
+     * more reschedules arriving while polling, and a poll every 30 simulated seconds in batches.
+     * Every remaining card must come out exactly once, never before its latest deadline and
+     * never more than one poll after it, in deadline order within each poll.
+     */
+    @Test
+    void handlesHundredsOfThousandsOfDueCards() {
+        int cards = 300_000;
+        int horizonSeconds = 7200;
+        int pollSeconds = 30;
+        int batchSize = 200;
+        Random random = new Random(42);
+        DeadlineQueue queue = new DeadlineQueue();
+        Map<Long, LocalDateTime> expected = new HashMap<>();
+
+        for (long id = 0; id < cards; id++) {
+            LocalDateTime deadline = T0.plusSeconds(random.nextInt(horizonSeconds));
+            queue.schedule(id, deadline);
+            expected.put(id, deadline);
+        }
+        for (long id = 0; id < cards; id += 3) {
+            LocalDateTime deadline = T0.plusSeconds(random.nextInt(horizonSeconds));
+            queue.schedule(id, deadline);
+            expected.put(id, deadline);
+        }
+        for (long id = 0; id < cards; id += 10) {
+            queue.cancel(id);
+            expected.remove(id);
+        }
+        assertEquals(expected.size(), queue.size());
+
+        Map<Long, LocalDateTime> fired = new HashMap<>();
+        for (int second = 0; second <= horizonSeconds + pollSeconds; second += pollSeconds) {
+            LocalDateTime now = T0.plusSeconds(second);
+            // Changes committed since the last poll: move a few not-yet-due cards
+            for (int i = 0; i < 100; i++) {
+                long id = random.nextInt(cards);
+                LocalDateTime current = expected.get(id);
+                if (current != null && current.isAfter(now) && !fired.containsKey(id)) {
+                    LocalDateTime deadline = now.plusSeconds(1 + random.nextInt(horizonSeconds - second + 1));
+                    queue.schedule(id, deadline);
+                    expected.put(id, deadline);
+                }
+            }
+            List<Long> due;
+            while (!(due = queue.pollDue(now, batchSize)).isEmpty()) {
+                LocalDateTime previous = null;
+                for (Long id : due) {
+                    LocalDateTime deadline = expected.get(id);
+                    assertFalse(deadline == null, "cancelled card " + id + " fired");
+                    assertFalse(deadline.isAfter(now), "card " + id + " fired early");
+                    assertTrue(deadline.isAfter(now.minusSeconds(pollSeconds)), "card " + id + " fired late");
+                    assertTrue(previous == null || !deadline.isBefore(previous), "out of order at card " + id);
+                    assertNull(fired.put(id, deadline), "card " + id + " fired twice");
+                    previous = deadline;
+                }
+            }
+        }
+
+        assertEquals(expected, fired);
+        assertEquals(0, queue.size());
+        assertNull(queue.nextDeadline());
+    }
+}